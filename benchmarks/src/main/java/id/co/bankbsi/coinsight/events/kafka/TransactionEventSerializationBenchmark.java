@@ -0,0 +1,66 @@
+package id.co.bankbsi.coinsight.events.kafka;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka value (de)serialization of {@link TransactionCreatedEvent} in both wire formats.
+ * Serialized sizes are printed at setup so payload size can be compared alongside speed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionEventSerializationBenchmark {
+
+    private static final String TOPIC = "transactions";
+
+    @Param({TransactionEventSerializer.FORMAT_BINARY, TransactionEventSerializer.FORMAT_JSON})
+    String format;
+
+    private TransactionEventSerializer serializer;
+    private TransactionEventDeserializer deserializer;
+    private TransactionCreatedEvent event;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        serializer = new TransactionEventSerializer();
+        serializer.configure(Map.of(TransactionEventSerializer.FORMAT_CONFIG, format), false);
+        deserializer = new TransactionEventDeserializer();
+
+        event = new TransactionCreatedEvent(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                new BigDecimal("1250000.00"),
+                3,
+                "bills",
+                "expense",
+                "Tagihan listrik PLN Juni",
+                LocalDateTime.of(2025, 6, 12, 18, 42, 7));
+        payload = serializer.serialize(TOPIC, event);
+        System.out.println("# " + format + " payload: " + payload.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return deserializer.deserialize(TOPIC, payload);
+    }
+}
@@ -0,0 +1,136 @@
+package id.co.bankbsi.coinsight.ocr.service;
+
+import com.azure.ai.formrecognizer.documentanalysis.implementation.util.AnalyzeResultHelper;
+import com.azure.ai.formrecognizer.documentanalysis.implementation.util.DocumentKeyValueElementHelper;
+import com.azure.ai.formrecognizer.documentanalysis.implementation.util.DocumentKeyValuePairHelper;
+import com.azure.ai.formrecognizer.documentanalysis.implementation.util.DocumentLineHelper;
+import com.azure.ai.formrecognizer.documentanalysis.implementation.util.DocumentPageHelper;
+import com.azure.ai.formrecognizer.documentanalysis.models.AnalyzeResult;
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentKeyValueElement;
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentKeyValuePair;
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentLine;
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field extraction from a Form Recognizer receipt result, without the network call. The
+ * amountFromLines case has no "total" key-value pair, so extraction falls back to scanning lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OcrFieldExtractionBenchmark {
+
+    private static final String[] ITEMS = {
+            "INDOMIE GORENG 2 3.500 7.000", "AQUA 600ML 1 4.000 4.000", "TEH BOTOL SOSRO 3 5.000 15.000",
+            "SUSU ULTRA 1L 1 18.500 18.500", "ROTI TAWAR 1 16.000 16.000", "KOPI KAPAL API 2 1.500 3.000"};
+
+    @Param({"15", "60"})
+    int lines;
+
+    private OcrService ocrService;
+    private AnalyzeResult withKeyValuePairs;
+    private AnalyzeResult linesOnly;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        ocrService = new OcrService(null, null);
+        SplittableRandom random = new SplittableRandom(3);
+
+        List<DocumentLine> documentLines = new ArrayList<>(lines);
+        documentLines.add(line("ALFAMART CILANDAK"));
+        for (int i = 1; i < lines - 2; i++) {
+            documentLines.add(line(ITEMS[random.nextInt(ITEMS.length)]));
+        }
+        documentLines.add(line("SUBTOTAL 63.500"));
+        documentLines.add(line("TOTAL 70.485"));
+
+        List<DocumentKeyValuePair> pairs = List.of(
+                pair("Merchant", "ALFAMART CILANDAK"),
+                pair("Date", "12/06/2025"),
+                pair("Time", "18:42"),
+                pair("Subtotal", "63.500"),
+                pair("Tax", "6.985"),
+                pair("Total", "70.485"),
+                pair("Cash", "100.000"),
+                pair("Change", "29.515"));
+
+        withKeyValuePairs = result(documentLines, pairs);
+        linesOnly = result(documentLines, List.of());
+    }
+
+    @Benchmark
+    public void extractAll(Blackhole blackhole) {
+        blackhole.consume(ocrService.extractRawText(withKeyValuePairs));
+        blackhole.consume(ocrService.extractAmount(withKeyValuePairs));
+        blackhole.consume(ocrService.extractDate(withKeyValuePairs));
+        blackhole.consume(ocrService.extractMerchantName(withKeyValuePairs));
+        blackhole.consume(ocrService.extractAdditionalFields(withKeyValuePairs));
+    }
+
+    @Benchmark
+    public Object amountFromLines() {
+        return ocrService.extractAmount(linesOnly);
+    }
+
+    // The SDK models have no public setters; their package-private helpers are what the SDK itself uses
+    private static AnalyzeResult result(List<DocumentLine> lines, List<DocumentKeyValuePair> pairs)
+            throws ReflectiveOperationException {
+        DocumentPage page = new DocumentPage();
+        invoke(DocumentPageHelper.class, "setLines", DocumentPage.class, page, lines);
+
+        AnalyzeResult result = new AnalyzeResult();
+        invoke(AnalyzeResultHelper.class, "setPages", AnalyzeResult.class, result, List.of(page));
+        invoke(AnalyzeResultHelper.class, "setKeyValuePairs", AnalyzeResult.class, result, pairs);
+        return result;
+    }
+
+    private static DocumentLine line(String content) {
+        DocumentLine line = new DocumentLine();
+        uncheckedInvoke(DocumentLineHelper.class, "setContent", DocumentLine.class, line, content);
+        return line;
+    }
+
+    private static DocumentKeyValuePair pair(String key, String value) {
+        DocumentKeyValuePair pair = new DocumentKeyValuePair();
+        uncheckedInvoke(DocumentKeyValuePairHelper.class, "setKey", DocumentKeyValuePair.class, pair, element(key));
+        uncheckedInvoke(DocumentKeyValuePairHelper.class, "setValue", DocumentKeyValuePair.class, pair, element(value));
+        return pair;
+    }
+
+    private static DocumentKeyValueElement element(String content) {
+        DocumentKeyValueElement element = new DocumentKeyValueElement();
+        uncheckedInvoke(DocumentKeyValueElementHelper.class, "setContent", DocumentKeyValueElement.class, element, content);
+        return element;
+    }
+
+    private static void uncheckedInvoke(Class<?> helper, String name, Class<?> target, Object instance, Object value) {
+        try {
+            invoke(helper, name, target, instance, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build Form Recognizer fixture via " + helper.getSimpleName(), e);
+        }
+    }
+
+    private static void invoke(Class<?> helper, String name, Class<?> target, Object instance, Object value)
+            throws ReflectiveOperationException {
+        Class<?> valueType = value instanceof List ? List.class : value.getClass();
+        Method method = helper.getDeclaredMethod(name, target, valueType);
+        method.setAccessible(true);
+        method.invoke(null, instance, value);
+    }
+}
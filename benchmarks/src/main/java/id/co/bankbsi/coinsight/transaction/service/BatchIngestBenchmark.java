@@ -0,0 +1,116 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.BatchTransactionResponse;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionRequest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows/sec of bulk ingest against Postgres: the same {@value #ROWS} rows created one request at a
+ * time through {@link TransactionService#createTransaction} (a transaction, rollup, ledger and
+ * outbox write per row) and through {@link TransactionBatchService#createTransactions} (JDBC
+ * batches in chunked transactions). The service starts against an embedded Postgres with the
+ * production schema and without Kafka; the outbox relay is off, so neither path publishes.
+ *
+ * <p>initdb refuses to run as root, so run this suite as a regular user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchIngestBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"500"})
+    int chunkSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionBatchService transactionBatchService;
+    private JdbcTemplate jdbcTemplate;
+    private UUID userId;
+    private List<TransactionRequest> requests;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        context = BenchmarkFixtures.startTransactionService(postgres, "--transaction.batch.chunk-size=" + chunkSize);
+        transactionService = context.getBean(TransactionService.class);
+        transactionBatchService = context.getBean(TransactionBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, full_name) VALUES (?, ?, ?)",
+                userId, userId + "@example.com", "Batch Ingest");
+        // The single-row path reads the caller from the security context, on whichever thread JMH uses
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(
+                Jwt.withTokenValue("benchmark").header("alg", "none").subject(userId.toString()).build()));
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(60);
+        requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(TransactionRequest.builder()
+                    .amount(BenchmarkFixtures.randomAmount(random))
+                    .categoryId(BenchmarkFixtures.CATEGORIES.get(random.nextInt(BenchmarkFixtures.CATEGORIES.size())).getId())
+                    .description("Partner sync row " + i)
+                    .transactionDate(start.plusMinutes(random.nextInt(60 * 24 * 60)))
+                    .build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTables() {
+        jdbcTemplate.execute("TRUNCATE transactions, transaction_daily_rollups, user_balances, transaction_outbox");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SecurityContextHolder.clearContext();
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int singleRow() {
+        int created = 0;
+        for (TransactionRequest request : requests) {
+            transactionService.createTransaction(request);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchTransactionResponse batch() {
+        return transactionBatchService.createTransactions(userId, requests);
+    }
+}
@@ -0,0 +1,206 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.TransactionApplication;
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionCategoryRepository;
+import id.co.bankbsi.coinsight.transaction.repository.projection.TransactionListProjection;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generated inputs shared by the transaction-service suites. Categories mirror the seed rows in
+ * db-init; amounts are rupiah values with two decimals, like the DECIMAL(12,2) column.
+ */
+final class BenchmarkFixtures {
+
+    static final List<TransactionCategory> CATEGORIES = List.of(
+            new TransactionCategory(1, "transfer", "income"),
+            new TransactionCategory(2, "topup", "income"),
+            new TransactionCategory(3, "bills", "expense"),
+            new TransactionCategory(4, "needs", "expense"),
+            new TransactionCategory(5, "transport", "expense"),
+            new TransactionCategory(6, "shopping", "expense"),
+            new TransactionCategory(7, "others", "expense"));
+
+    private static final String[] DESCRIPTIONS = {
+            "Gaji bulanan", "Top up e-wallet", "Tagihan listrik PLN", "Belanja bulanan",
+            "Ojek online ke kantor", "Sepatu lari", "Makan siang", "Transfer ke orang tua"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static CategoryRegistry categoryRegistry() {
+        // Only findAll() is used, when the registry loads its snapshot
+        TransactionCategoryRepository repository = (TransactionCategoryRepository) Proxy.newProxyInstance(
+                BenchmarkFixtures.class.getClassLoader(),
+                new Class<?>[]{TransactionCategoryRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return CATEGORIES;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        // Only used to evict second-level cache regions on refresh, and there are none here
+        EntityManagerFactory entityManagerFactory = inert(EntityManagerFactory.class);
+        CategoryRegistry registry = new CategoryRegistry(repository, entityManagerFactory);
+        registry.refresh();
+        return registry;
+    }
+
+    /**
+     * Proxy whose void methods do nothing and whose interface-typed results, including
+     * {@code unwrap}, are further inert proxies.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T inert(Class<T> type) {
+        return (T) Proxy.newProxyInstance(
+                BenchmarkFixtures.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == void.class) {
+                        return null;
+                    }
+                    Class<?> result = method.getName().equals("unwrap") ? (Class<?>) args[0] : method.getReturnType();
+                    if (result.isInterface()) {
+                        return inert(result);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * The production schema, read from the db-init ConfigMap; benchmarks run from the module
+     * directory, so it is found relative to that.
+     */
+    static String schemaSql() throws IOException {
+        List<String> lines = Files.readAllLines(Path.of("..", "k8s", "db-init-configmap.yaml"));
+        int start = lines.indexOf("  init.sql: |") + 1;
+        return lines.subList(start, lines.size()).stream()
+                .map(line -> line.length() > 4 ? line.substring(4) : "")
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Loads the production schema into {@code postgres} and starts the whole transaction service
+     * against it on a random port, without Kafka, config server or background jobs. The servlet
+     * stack stays on because SecurityConfig needs its JwtDecoder. {@code args} are appended, so
+     * they can override any of these.
+     */
+    static ConfigurableApplicationContext startTransactionService(EmbeddedPostgres postgres, String... args)
+            throws IOException, SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(schemaSql());
+        }
+        // Command-line arguments, so they take precedence over application.yml
+        String[] defaults = {
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0",
+                "--spring.cloud.config.enabled=false",
+                "--spring.cloud.vault.enabled=false",
+                "--spring.kafka.bootstrap-servers=localhost:1",
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.apache.kafka=OFF",
+                "--transaction.outbox.relay.enabled=false",
+                "--transaction.analytics.enabled=false",
+                "--transaction.balance.reconciliation.enabled=false"};
+        return new SpringApplicationBuilder(TransactionApplication.class)
+                .run(Stream.concat(Stream.of(defaults), Stream.of(args)).toArray(String[]::new));
+    }
+
+    static BigDecimal randomAmount(SplittableRandom random) {
+        // Rp 1.000 to Rp 25.000.000, in whole rupiah most of the time
+        long minorUnits = random.nextLong(1_000L, 25_000_000L) * 100;
+        if (random.nextInt(10) == 0) {
+            minorUnits += random.nextInt(100);
+        }
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    static List<TransactionListProjection> listRows(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        UUID userId = new UUID(random.nextLong(), random.nextLong());
+        LocalDateTime now = LocalDateTime.of(2025, 6, 30, 12, 0);
+        List<TransactionListProjection> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime date = now.minusMinutes(random.nextInt(60 * 24 * 90));
+            rows.add(new Row(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    userId,
+                    randomAmount(random),
+                    CATEGORIES.get(random.nextInt(CATEGORIES.size())).getId(),
+                    DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                    date,
+                    date,
+                    date));
+        }
+        return rows;
+    }
+
+    record Row(UUID id, UUID userId, BigDecimal amount, Integer categoryId, String description,
+               LocalDateTime transactionDate, LocalDateTime createdAt, LocalDateTime updatedAt)
+            implements TransactionListProjection {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public UUID getUserId() {
+            return userId;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        @Override
+        public Integer getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public LocalDateTime getTransactionDate() {
+            return transactionDate;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.TransactionRequest;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionResponse;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent single creates against Postgres, each JMH thread acting as its own user: committed
+ * one per request through {@link TransactionService#createTransaction}, as the controller does with
+ * group commit off, or queued through {@link TransactionGroupCommitter} with the given max-delay.
+ * Run with both Throughput and SampleTime to see the trade-off: grouping saves a transaction and
+ * a WAL flush per request under load and adds up to max-delay to each request's latency.
+ *
+ * <p>The service starts against an embedded Postgres with the production schema and its default
+ * Hikari pool, without Kafka; the outbox relay is off, so neither path publishes. initdb refuses
+ * to run as root, so run this suite as a regular user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class GroupCommitBenchmark {
+
+    @Param({"direct", "group-0ms", "group-2ms"})
+    String mode;
+
+    @Param({"200"})
+    int maxBatchSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionGroupCommitter groupCommitter;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        boolean grouped = mode.startsWith("group-");
+        postgres = EmbeddedPostgres.start();
+        context = BenchmarkFixtures.startTransactionService(postgres,
+                "--transaction.group-commit.enabled=" + grouped,
+                "--transaction.group-commit.max-delay=" + (grouped ? mode.substring("group-".length()) : "0ms"),
+                "--transaction.group-commit.max-batch-size=" + maxBatchSize);
+        transactionService = context.getBean(TransactionService.class);
+        groupCommitter = context.getBean(TransactionGroupCommitter.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTables() {
+        jdbcTemplate.execute("TRUNCATE transactions, transaction_daily_rollups, user_balances, transaction_outbox");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        UUID userId;
+        SplittableRandom random;
+
+        @Setup
+        public void setUp(GroupCommitBenchmark benchmark) {
+            userId = UUID.randomUUID();
+            random = new SplittableRandom(userId.getLeastSignificantBits());
+            benchmark.jdbcTemplate.update("INSERT INTO users (id, email, full_name) VALUES (?, ?, ?)",
+                    userId, userId + "@example.com", "Group Commit");
+            // Thread-scoped state is set up on the thread that uses it, so the default thread-local holder works
+            SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(
+                    Jwt.withTokenValue("benchmark").header("alg", "none").subject(userId.toString()).build()));
+        }
+
+        @TearDown
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse create(Caller caller) {
+        TransactionRequest request = TransactionRequest.builder()
+                .amount(BenchmarkFixtures.randomAmount(caller.random))
+                .categoryId(BenchmarkFixtures.CATEGORIES.get(caller.random.nextInt(BenchmarkFixtures.CATEGORIES.size())).getId())
+                .description("Group commit row")
+                .transactionDate(LocalDateTime.now().minusMinutes(caller.random.nextInt(60 * 24 * 30)))
+                .build();
+        return groupCommitter.isEnabled()
+                ? groupCommitter.createTransaction(caller.userId, request)
+                : transactionService.createTransaction(request);
+    }
+}
@@ -0,0 +1,104 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ReceiptAmountScanner} over the sample receipt corpus. Setup checks every
+ * receipt against its expected amount first, so a parsing regression fails the run instead of
+ * producing a faster number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReceiptAmountScannerBenchmark {
+
+    private static final String CORPUS = "/receipts/corpus.txt";
+    private static final int CORPUS_SIZE = 12;
+
+    private String[] receipts;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> texts = new ArrayList<>();
+        List<BigDecimal> expected = new ArrayList<>();
+        loadCorpus(texts, expected);
+        if (texts.size() != CORPUS_SIZE) {
+            throw new IllegalStateException("Expected " + CORPUS_SIZE + " receipts in " + CORPUS + ", found " + texts.size());
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            ReceiptAmountScanner.Result result = ReceiptAmountScanner.scan(texts.get(i));
+            if (result.amount().compareTo(expected.get(i)) != 0) {
+                failures.add("receipt #" + (i + 1) + ": expected " + expected.get(i) + ", got " + result.amount());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Receipt corpus mismatch: " + String.join("; ", failures));
+        }
+        receipts = texts.toArray(new String[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void scanCorpus(Blackhole blackhole) {
+        for (String receipt : receipts) {
+            blackhole.consume(ReceiptAmountScanner.scan(receipt));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void legacyParseCorpus(Blackhole blackhole) {
+        for (String receipt : receipts) {
+            blackhole.consume(ReceiptTotalParsingBenchmark.legacyParseReceiptTotal(receipt));
+        }
+    }
+
+    private static void loadCorpus(List<String> texts, List<BigDecimal> expected) throws IOException {
+        InputStream in = ReceiptAmountScannerBenchmark.class.getResourceAsStream(CORPUS);
+        if (in == null) {
+            throw new IllegalStateException("Missing " + CORPUS);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            StringBuilder current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") && current == null) {
+                    continue;
+                }
+                if (line.startsWith("=== ")) {
+                    if (current != null) {
+                        texts.add(current.toString());
+                    }
+                    // The header also carries the expected confidence, which only the unit test checks
+                    expected.add(new BigDecimal(line.substring(4).trim().split(" ")[0]));
+                    current = new StringBuilder();
+                } else if (current != null) {
+                    current.append(line).append('\n');
+                }
+            }
+            if (current != null) {
+                texts.add(current.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import java.util.SplittableRandom;
+
+final class ReceiptSamples {
+
+    private static final String[] ITEMS = {
+            "INDOMIE GORENG", "AQUA 600ML", "TEH BOTOL SOSRO", "ROTI TAWAR SARI ROTI",
+            "SUSU ULTRA 1L", "GULA PASIR 1KG", "MINYAK GORENG 2L", "TELUR AYAM 10BTR",
+            "SABUN LIFEBUOY", "KOPI KAPAL API"};
+
+    private ReceiptSamples() {
+    }
+
+    static String generate(int items, SplittableRandom random) {
+        StringBuilder text = new StringBuilder(64 * (items + 12));
+        text.append("INDOMARET\n")
+                .append("JL. SUDIRMAN NO. 12 JAKARTA\n")
+                .append("NPWP 01.234.567.8-901.000\n")
+                .append("12.06.2025-18:42 2.1.26 0123/KSR/04\n");
+        long subtotal = 0;
+        for (int i = 0; i < items; i++) {
+            int quantity = 1 + random.nextInt(3);
+            long price = (1 + random.nextInt(60)) * 500L;
+            subtotal += quantity * price;
+            text.append(ITEMS[random.nextInt(ITEMS.length)]).append(' ')
+                    .append(quantity).append(' ')
+                    .append(formatRupiah(price)).append(' ')
+                    .append(formatRupiah(quantity * price)).append('\n');
+        }
+        long tax = subtotal * 11 / 100;
+        text.append("SUBTOTAL ").append(formatRupiah(subtotal)).append('\n')
+                .append("PPN 11% ").append(formatRupiah(tax)).append('\n')
+                .append("TOTAL BELANJA ").append(formatRupiah(subtotal + tax)).append('\n')
+                .append("TUNAI ").append(formatRupiah(subtotal + tax + 5000)).append('\n')
+                .append("KEMBALI ").append(formatRupiah(5000)).append('\n')
+                .append("TERIMA KASIH SELAMAT BELANJA KEMBALI\n");
+        return text.toString();
+    }
+
+    static String formatRupiah(long rupiah) {
+        String digits = Long.toString(rupiah);
+        StringBuilder formatted = new StringBuilder(digits.length() + digits.length() / 3);
+        for (int i = 0; i < digits.length(); i++) {
+            if (i > 0 && (digits.length() - i) % 3 == 0) {
+                formatted.append('.');
+            }
+            formatted.append(digits.charAt(i));
+        }
+        return formatted.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total extraction from OCR receipt text: the split/replaceAll/BigDecimal loop that
+ * createTransactionFromOCR used before, against {@link ReceiptAmountScanner}. Receipts are
+ * generated minimarket-style: header, item lines, subtotal/tax/total block and footer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReceiptTotalParsingBenchmark {
+
+    @Param({"10", "60"})
+    int items;
+
+    private String receiptText;
+
+    @Setup
+    public void setUp() {
+        receiptText = ReceiptSamples.generate(items, new SplittableRandom(11));
+    }
+
+    @Benchmark
+    public BigDecimal legacyParse() {
+        return legacyParseReceiptTotal(receiptText);
+    }
+
+    @Benchmark
+    public ReceiptAmountScanner.Result scanner() {
+        return ReceiptAmountScanner.scan(receiptText);
+    }
+
+    // Former TransactionService logic, kept verbatim as the baseline
+    static BigDecimal legacyParseReceiptTotal(String receiptText) {
+        BigDecimal amount = new BigDecimal("0.00");
+        if (receiptText == null) {
+            return amount;
+        }
+        String[] lines = receiptText.split("\\n");
+        for (String line : lines) {
+            if (line.toLowerCase().contains("total")) {
+                String[] parts = line.split("\\s+");
+                for (String part : parts) {
+                    part = part.replaceAll("[^0-9.]", "");
+                    try {
+                        amount = new BigDecimal(part);
+                        break;
+                    } catch (NumberFormatException ignored) {
+                        // Not a valid number, continue
+                    }
+                }
+            }
+        }
+        return amount;
+    }
+}
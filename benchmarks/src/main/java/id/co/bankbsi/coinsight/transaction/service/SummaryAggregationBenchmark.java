@@ -0,0 +1,102 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary aggregation over (categoryId, amount) rows: the former BigDecimal + name-keyed HashMap
+ * loop against {@link CategoryTotals} on minor units, both with minor units straight from SQL
+ * and with a per-row BigDecimal conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SummaryAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    int rows;
+
+    private CategoryRegistry categoryRegistry;
+    private int[] categoryIds;
+    private BigDecimal[] amounts;
+    private long[] minorUnits;
+
+    @Setup
+    public void setUp() {
+        categoryRegistry = BenchmarkFixtures.categoryRegistry();
+        SplittableRandom random = new SplittableRandom(7);
+        categoryIds = new int[rows];
+        amounts = new BigDecimal[rows];
+        minorUnits = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            categoryIds[i] = BenchmarkFixtures.CATEGORIES.get(random.nextInt(BenchmarkFixtures.CATEGORIES.size())).getId();
+            amounts[i] = BenchmarkFixtures.randomAmount(random);
+            minorUnits[i] = Money.toMinorUnits(amounts[i]);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalHashMap(Blackhole blackhole) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        Map<String, BigDecimal> expenseByCategory = new HashMap<>();
+        Map<String, BigDecimal> incomeByCategory = new HashMap<>();
+
+        for (int i = 0; i < rows; i++) {
+            TransactionCategory category = categoryRegistry.find(categoryIds[i]);
+            if (category == null) {
+                continue;
+            }
+            BigDecimal amount = amounts[i];
+            if ("income".equals(category.getType())) {
+                totalIncome = totalIncome.add(amount);
+                incomeByCategory.merge(category.getName(), amount, BigDecimal::add);
+            } else if ("expense".equals(category.getType())) {
+                totalExpense = totalExpense.add(amount);
+                expenseByCategory.merge(category.getName(), amount, BigDecimal::add);
+            }
+        }
+
+        blackhole.consume(totalIncome.subtract(totalExpense));
+        blackhole.consume(incomeByCategory);
+        blackhole.consume(expenseByCategory);
+    }
+
+    @Benchmark
+    public void minorUnitsCategoryTotals(Blackhole blackhole) {
+        CategoryTotals totals = new CategoryTotals(categoryRegistry.capacity());
+        for (int i = 0; i < rows; i++) {
+            totals.add(categoryIds[i], minorUnits[i], categoryRegistry::find);
+        }
+        consume(totals, blackhole);
+    }
+
+    @Benchmark
+    public void bigDecimalInputCategoryTotals(Blackhole blackhole) {
+        CategoryTotals totals = new CategoryTotals(categoryRegistry.capacity());
+        for (int i = 0; i < rows; i++) {
+            totals.add(categoryIds[i], Money.toMinorUnits(amounts[i]), categoryRegistry::find);
+        }
+        consume(totals, blackhole);
+    }
+
+    private void consume(CategoryTotals totals, Blackhole blackhole) {
+        blackhole.consume(Money.toBigDecimal(totals.getTotalIncome() - totals.getTotalExpense()));
+        blackhole.consume(totals.byCategoryName("income", categoryRegistry::find));
+        blackhole.consume(totals.byCategoryName("expense", categoryRegistry::find));
+    }
+}
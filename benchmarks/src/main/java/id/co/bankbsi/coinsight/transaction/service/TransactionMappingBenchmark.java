@@ -0,0 +1,44 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.TransactionResponse;
+import id.co.bankbsi.coinsight.transaction.repository.projection.TransactionListProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projection-to-DTO mapping used by every list endpoint, at typical page sizes and at the size
+ * of a large cursor page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionMappingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    int rows;
+
+    private TransactionService transactionService;
+    private List<TransactionListProjection> page;
+
+    @Setup
+    public void setUp() {
+        // Receipts are not requested, so only the category registry is touched
+        transactionService = new TransactionService(
+                null, null, BenchmarkFixtures.categoryRegistry(), null, null, null, null, null, 100);
+        page = BenchmarkFixtures.listRows(rows, 42);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> mapPage() {
+        return transactionService.mapToTransactionResponses(page, false);
+    }
+}
@@ -0,0 +1,154 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionRequest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load against a running transaction service, with and without the virtual-threads
+ * profile: {@code @Threads} clients, more than Tomcat's 200 platform request threads, page
+ * through one user's transactions. Compare throughput, and the SampleTime tail, of the two modes;
+ * with virtual threads the fixed Hikari pool rather than Tomcat bounds concurrency, so expect
+ * queueing to move from the accept backlog to the pool.
+ *
+ * <p>The service starts against an embedded Postgres with the production schema and accepts
+ * tokens signed with a key generated here. The virtual-threads mode needs a Java 21+ JVM and
+ * fails its setup on older ones; initdb refuses to run as root, so run this suite as a regular
+ * user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"platform", "virtual-threads"})
+    String mode;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private Path publicKeyFile;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException, SQLException, NoSuchAlgorithmException {
+        if (mode.equals("virtual-threads") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The virtual-threads mode needs a Java 21+ JVM, not " + Runtime.version());
+        }
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        publicKeyFile = Files.createTempFile("benchmark-jwt", ".pem");
+        Files.writeString(publicKeyFile, "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n");
+
+        postgres = EmbeddedPostgres.start();
+        context = BenchmarkFixtures.startTransactionService(postgres,
+                "--spring.profiles.active=" + (mode.equals("virtual-threads") ? "virtual-threads" : "default"),
+                // Blank, or Boot would pick the decoder that fetches the issuer's discovery document
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=",
+                "--spring.security.oauth2.resourceserver.jwt.public-key-location=file:" + publicKeyFile);
+
+        UUID userId = UUID.randomUUID();
+        context.getBean(JdbcTemplate.class).update("INSERT INTO users (id, email, full_name) VALUES (?, ?, ?)",
+                userId, userId + "@example.com", "Load Test");
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(60);
+        List<TransactionRequest> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(TransactionRequest.builder()
+                    .amount(BenchmarkFixtures.randomAmount(random))
+                    .categoryId(BenchmarkFixtures.CATEGORIES.get(random.nextInt(BenchmarkFixtures.CATEGORIES.size())).getId())
+                    .description("Load test row " + i)
+                    .transactionDate(start.plusMinutes(random.nextInt(60 * 24 * 60)))
+                    .build());
+        }
+        context.getBean(TransactionBatchService.class).createTransactions(userId, rows);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions?page=0&size=20"))
+                .header("Authorization", "Bearer " + token(keyPair, userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+        Files.deleteIfExists(publicKeyFile);
+    }
+
+    @Benchmark
+    public int listTransactions() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/transactions returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private static String token(KeyPair keyPair, UUID userId) {
+        RSAKey key = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .build();
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)));
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(userId.toString())
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofHours(1)))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+}
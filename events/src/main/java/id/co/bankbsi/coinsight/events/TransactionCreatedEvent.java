@@ -1,4 +1,4 @@
-package id.co.bankbsi.coinsight.transaction.event;
+package id.co.bankbsi.coinsight.events;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,8 +14,9 @@ public class TransactionCreatedEvent {
     private String id;
     private String userId;
     private BigDecimal amount;
+    private Integer categoryId;
     private String categoryName;
     private String categoryType;
     private String description;
     private LocalDateTime transactionDate;
-}
\ No newline at end of file
+}
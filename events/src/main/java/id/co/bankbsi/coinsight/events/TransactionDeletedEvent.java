@@ -0,0 +1,19 @@
+package id.co.bankbsi.coinsight.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDeletedEvent {
+    private String id;
+    private String userId;
+    private BigDecimal amount;
+    private Integer categoryId;
+    private LocalDateTime transactionDate;
+}
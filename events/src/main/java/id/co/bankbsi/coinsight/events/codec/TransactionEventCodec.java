@@ -0,0 +1,279 @@
+package id.co.bankbsi.coinsight.events.codec;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link TransactionCreatedEvent}.
+ *
+ * <pre>
+ * magic(1) version(1) flags(1) id(16) userId(16)
+ * [amount: zigzag varint, minor units at scale 2]
+ * [categoryId: varint] categoryType(1)
+ * [description: varint length + UTF-8]
+ * [transactionDate: zigzag varint, epoch microseconds, UTC]
+ * </pre>
+ *
+ * Bracketed fields are only present when their bit is set in {@code flags}. The category is sent
+ * by id and type only; consumers resolve the name from their own category table.
+ *
+ * <p>Compatibility rules: a new schema version may only append fields after the last v1 field and
+ * may only use flag bits that older readers do not know about. Readers therefore decode the
+ * prefix they understand and ignore trailing bytes, so old consumers keep working with new
+ * producers and new consumers fill defaults for fields missing from old payloads.
+ */
+public final class TransactionEventCodec {
+
+    public static final byte MAGIC = (byte) 0xC5;
+    public static final byte VERSION_1 = 1;
+    public static final byte CURRENT_VERSION = VERSION_1;
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private static final int FLAG_AMOUNT = 1;
+    private static final int FLAG_CATEGORY_ID = 1 << 1;
+    private static final int FLAG_DESCRIPTION = 1 << 2;
+    private static final int FLAG_TRANSACTION_DATE = 1 << 3;
+
+    private static final byte TYPE_NONE = 0;
+    private static final byte TYPE_INCOME = 1;
+    private static final byte TYPE_EXPENSE = 2;
+
+    private TransactionEventCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 1 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(TransactionCreatedEvent event) {
+        byte[] description = event.getDescription() != null
+                ? event.getDescription().getBytes(StandardCharsets.UTF_8)
+                : null;
+
+        int flags = 0;
+        if (event.getAmount() != null) {
+            flags |= FLAG_AMOUNT;
+        }
+        if (event.getCategoryId() != null) {
+            flags |= FLAG_CATEGORY_ID;
+        }
+        if (description != null) {
+            flags |= FLAG_DESCRIPTION;
+        }
+        if (event.getTransactionDate() != null) {
+            flags |= FLAG_TRANSACTION_DATE;
+        }
+
+        Writer writer = new Writer(64 + (description != null ? description.length : 0));
+        writer.writeByte(MAGIC);
+        writer.writeByte(CURRENT_VERSION);
+        writer.writeByte(flags);
+        writer.writeUuid(UUID.fromString(event.getId()));
+        writer.writeUuid(UUID.fromString(event.getUserId()));
+        if ((flags & FLAG_AMOUNT) != 0) {
+            writer.writeVarLong(zigZag(toMinorUnits(event.getAmount())));
+        }
+        if ((flags & FLAG_CATEGORY_ID) != 0) {
+            writer.writeVarLong(event.getCategoryId());
+        }
+        writer.writeByte(encodeType(event.getCategoryType()));
+        if (description != null) {
+            writer.writeVarLong(description.length);
+            writer.writeBytes(description);
+        }
+        if ((flags & FLAG_TRANSACTION_DATE) != 0) {
+            writer.writeVarLong(zigZag(toEpochMicros(event.getTransactionDate())));
+        }
+        return writer.toByteArray();
+    }
+
+    public static TransactionCreatedEvent decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not a binary transaction event");
+        }
+        Reader reader = new Reader(data);
+        reader.readByte();
+        int version = reader.readByte();
+        if (version < VERSION_1) {
+            throw new IllegalArgumentException("Unsupported transaction event version: " + version);
+        }
+
+        int flags = reader.readByte();
+        TransactionCreatedEvent event = new TransactionCreatedEvent();
+        event.setId(reader.readUuid().toString());
+        event.setUserId(reader.readUuid().toString());
+        if ((flags & FLAG_AMOUNT) != 0) {
+            event.setAmount(BigDecimal.valueOf(unZigZag(reader.readVarLong()), AMOUNT_SCALE));
+        }
+        if ((flags & FLAG_CATEGORY_ID) != 0) {
+            event.setCategoryId((int) reader.readVarLong());
+        }
+        event.setCategoryType(decodeType(reader.readByte()));
+        if ((flags & FLAG_DESCRIPTION) != 0) {
+            int length = (int) reader.readVarLong();
+            event.setDescription(new String(reader.readBytes(length), StandardCharsets.UTF_8));
+        }
+        if ((flags & FLAG_TRANSACTION_DATE) != 0) {
+            event.setTransactionDate(fromEpochMicros(unZigZag(reader.readVarLong())));
+        }
+        // Anything after this point was appended by a newer schema version
+        return event;
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        BigInteger unscaled = amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue();
+        return unscaled.longValueExact();
+    }
+
+    static long toEpochMicros(LocalDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        return Math.addExact(Math.multiplyExact(seconds, 1_000_000L), dateTime.getNano() / 1_000);
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        long seconds = Math.floorDiv(micros, 1_000_000L);
+        long microsOfSecond = Math.floorMod(micros, 1_000_000L);
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC).plus(microsOfSecond, ChronoUnit.MICROS);
+    }
+
+    private static byte encodeType(String type) {
+        if ("income".equals(type)) {
+            return TYPE_INCOME;
+        }
+        if ("expense".equals(type)) {
+            return TYPE_EXPENSE;
+        }
+        return TYPE_NONE;
+    }
+
+    private static String decodeType(int code) {
+        return switch (code) {
+            case TYPE_INCOME -> "income";
+            case TYPE_EXPENSE -> "expense";
+            default -> null;
+        };
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeUuid(UUID uuid) {
+            writeLong(uuid.getMostSignificantBits());
+            writeLong(uuid.getLeastSignificantBits());
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            checkAvailable(1);
+            return data[position++] & 0xFF;
+        }
+
+        byte[] readBytes(int length) {
+            checkAvailable(length);
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        long readLong() {
+            checkAvailable(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in transaction event");
+        }
+
+        private void checkAvailable(int length) {
+            if (length < 0 || position + length > data.length) {
+                throw new IllegalArgumentException("Truncated transaction event");
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package id.co.bankbsi.coinsight.events.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.events.TransactionDeletedEvent;
+import id.co.bankbsi.coinsight.events.codec.TransactionEventCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads {@link TransactionCreatedEvent} in either wire format. Binary payloads are recognised by
+ * the codec's magic byte; anything else is treated as JSON, so producers can switch formats
+ * without coordinating with consumers. Payloads tagged with
+ * {@link TransactionEventSerializer#EVENT_TYPE_HEADER} are read as {@link TransactionDeletedEvent}.
+ */
+public class TransactionEventDeserializer implements Deserializer<Object> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final String DELETED_TYPE = TransactionDeletedEvent.class.getSimpleName();
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        Header type = headers != null ? headers.lastHeader(TransactionEventSerializer.EVENT_TYPE_HEADER) : null;
+        if (data == null || type == null || !DELETED_TYPE.equals(new String(type.value(), StandardCharsets.UTF_8))) {
+            return deserialize(topic, data);
+        }
+        try {
+            return objectMapper.readValue(data, TransactionDeletedEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to deserialize transaction event", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (TransactionEventCodec.isBinary(data)) {
+                return TransactionEventCodec.decode(data);
+            }
+            return objectMapper.readValue(data, TransactionCreatedEvent.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new SerializationException("Failed to deserialize transaction event", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package id.co.bankbsi.coinsight.events.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.events.TransactionDeletedEvent;
+import id.co.bankbsi.coinsight.events.codec.TransactionEventCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Kafka value serializer for transaction events. {@link TransactionCreatedEvent} is written with
+ * the compact binary codec by default; set {@link #FORMAT_CONFIG} to {@code json} to fall back to
+ * plain JSON. {@link TransactionDeletedEvent} is always JSON and is marked with the
+ * {@link #EVENT_TYPE_HEADER} header so consumers can tell the two apart.
+ */
+public class TransactionEventSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "coinsight.event.format";
+    public static final String FORMAT_BINARY = "binary";
+    public static final String FORMAT_JSON = "json";
+    public static final String EVENT_TYPE_HEADER = "coinsight-event-type";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private boolean json;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        json = format != null && FORMAT_JSON.equalsIgnoreCase(format.toString());
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof TransactionDeletedEvent) {
+            headers.add(EVENT_TYPE_HEADER,
+                    TransactionDeletedEvent.class.getSimpleName().getBytes(StandardCharsets.UTF_8));
+        }
+        return serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof TransactionDeletedEvent deleted) {
+            try {
+                return objectMapper.writeValueAsBytes(deleted);
+            } catch (JsonProcessingException e) {
+                throw new SerializationException("Failed to serialize transaction event " + deleted.getId(), e);
+            }
+        }
+        if (!(data instanceof TransactionCreatedEvent event)) {
+            throw new SerializationException("Unsupported event type: " + data.getClass().getName());
+        }
+        if (!json) {
+            return TransactionEventCodec.encode(event);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Failed to serialize transaction event " + event.getId(), e);
+        }
+    }
+}
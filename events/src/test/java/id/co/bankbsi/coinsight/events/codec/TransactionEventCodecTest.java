@@ -0,0 +1,181 @@
+package id.co.bankbsi.coinsight.events.codec;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round trips through the binary wire format, including the edges of its zigzag varints, absent
+ * optional fields and the magic/version checks that keep old and new producers readable.
+ */
+class TransactionEventCodecTest {
+
+    // magic, version, flags, two UUIDs and the category type byte
+    private static final int FIXED_LENGTH = 3 + 16 + 16 + 1;
+
+    @Test
+    void roundTripsEveryField() {
+        TransactionCreatedEvent event = event();
+
+        TransactionCreatedEvent decoded = TransactionEventCodec.decode(TransactionEventCodec.encode(event));
+
+        // The name is not on the wire; consumers resolve it from the category id
+        event.setCategoryName(null);
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "0.01", "-0.01", "125000.50", "-125000.50", "92233720368547758.07", "-92233720368547758.08"})
+    void roundTripsAmountsAcrossTheZigZagRange(String amount) {
+        TransactionCreatedEvent event = event();
+        event.setAmount(new BigDecimal(amount));
+
+        assertThat(TransactionEventCodec.decode(TransactionEventCodec.encode(event)).getAmount())
+                .isEqualTo(new BigDecimal(amount));
+    }
+
+    @Test
+    void roundsAmountsToMinorUnits() {
+        TransactionCreatedEvent event = event();
+        event.setAmount(new BigDecimal("10.005"));
+
+        assertThat(TransactionEventCodec.decode(TransactionEventCodec.encode(event)).getAmount())
+                .isEqualTo(new BigDecimal("10.01"));
+    }
+
+    @Test
+    void rejectsAmountsBeyondLongMinorUnits() {
+        TransactionCreatedEvent event = event();
+        event.setAmount(new BigDecimal("92233720368547758.08"));
+
+        assertThatThrownBy(() -> TransactionEventCodec.encode(event)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE})
+    void roundTripsCategoryIdsAcrossVarintLengths(int categoryId) {
+        TransactionCreatedEvent event = event();
+        event.setCategoryId(categoryId);
+
+        assertThat(TransactionEventCodec.decode(TransactionEventCodec.encode(event)).getCategoryId()).isEqualTo(categoryId);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1970-01-01T00:00:00", "1969-12-31T23:59:59.999999", "2025-06-30T12:00:00.123456", "9999-12-31T23:59:59.999999"})
+    void roundTripsTransactionDatesToTheMicrosecond(String date) {
+        TransactionCreatedEvent event = event();
+        event.setTransactionDate(LocalDateTime.parse(date));
+
+        assertThat(TransactionEventCodec.decode(TransactionEventCodec.encode(event)).getTransactionDate())
+                .isEqualTo(LocalDateTime.parse(date));
+    }
+
+    @Test
+    void truncatesTransactionDatesToMicroseconds() {
+        TransactionCreatedEvent event = event();
+        event.setTransactionDate(LocalDateTime.parse("2025-06-30T12:00:00.123456789"));
+
+        assertThat(TransactionEventCodec.decode(TransactionEventCodec.encode(event)).getTransactionDate())
+                .isEqualTo(LocalDateTime.parse("2025-06-30T12:00:00.123456"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "Makan siang", "Kopi ☕ susu, Rp 25.000"})
+    void roundTripsDescriptionsAsUtf8(String description) {
+        TransactionCreatedEvent event = event();
+        event.setDescription(description);
+
+        assertThat(TransactionEventCodec.decode(TransactionEventCodec.encode(event)).getDescription()).isEqualTo(description);
+    }
+
+    @Test
+    void leavesOutAbsentOptionalFields() {
+        TransactionCreatedEvent event = new TransactionCreatedEvent();
+        event.setId(UUID.randomUUID().toString());
+        event.setUserId(UUID.randomUUID().toString());
+
+        byte[] encoded = TransactionEventCodec.encode(event);
+        TransactionCreatedEvent decoded = TransactionEventCodec.decode(encoded);
+
+        assertThat(encoded).hasSize(FIXED_LENGTH);
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void decodesUnknownCategoryTypesAsNull() {
+        TransactionCreatedEvent event = event();
+        event.setCategoryType("transfer");
+
+        assertThat(TransactionEventCodec.decode(TransactionEventCodec.encode(event)).getCategoryType()).isNull();
+    }
+
+    @Test
+    void startsWithMagicAndCurrentVersion() {
+        byte[] encoded = TransactionEventCodec.encode(event());
+
+        assertThat(encoded[0]).isEqualTo(TransactionEventCodec.MAGIC);
+        assertThat(encoded[1]).isEqualTo(TransactionEventCodec.CURRENT_VERSION);
+        assertThat(TransactionEventCodec.isBinary(encoded)).isTrue();
+    }
+
+    @Test
+    void doesNotTakeJsonOrShortPayloadsForBinary() {
+        assertThat(TransactionEventCodec.isBinary("{\"id\":\"1\"}".getBytes())).isFalse();
+        assertThat(TransactionEventCodec.isBinary(new byte[]{TransactionEventCodec.MAGIC})).isFalse();
+        assertThat(TransactionEventCodec.isBinary(null)).isFalse();
+        assertThatThrownBy(() -> TransactionEventCodec.decode("{}".getBytes()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsVersionsBeforeTheFirst() {
+        byte[] encoded = TransactionEventCodec.encode(event());
+        encoded[1] = 0;
+
+        assertThatThrownBy(() -> TransactionEventCodec.decode(encoded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void readsTheKnownPrefixOfNewerVersions() {
+        TransactionCreatedEvent event = event();
+        byte[] encoded = TransactionEventCodec.encode(event);
+        byte[] newer = Arrays.copyOf(encoded, encoded.length + 3);
+        newer[1] = TransactionEventCodec.CURRENT_VERSION + 1;
+        newer[encoded.length] = 42;
+
+        event.setCategoryName(null);
+        assertThat(TransactionEventCodec.decode(newer)).isEqualTo(event);
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        byte[] encoded = TransactionEventCodec.encode(event());
+
+        assertThatThrownBy(() -> TransactionEventCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    private static TransactionCreatedEvent event() {
+        return new TransactionCreatedEvent(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                new BigDecimal("125000.00"),
+                3,
+                "bills",
+                "expense",
+                "Tagihan listrik PLN",
+                LocalDateTime.of(2025, 1, 15, 12, 30, 45, 123_456_000));
+    }
+}
@@ -0,0 +1,93 @@
+package id.co.bankbsi.coinsight.events.kafka;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.events.TransactionDeletedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Consumers must read whatever a producer sends: binary or JSON created events, and JSON deleted
+ * events marked by their header.
+ */
+class TransactionEventDeserializerTest {
+
+    private static final String TOPIC = "transactions";
+
+    private final TransactionEventDeserializer deserializer = new TransactionEventDeserializer();
+
+    @Test
+    void readsJsonCreatedEvents() {
+        TransactionCreatedEvent event = createdEvent();
+        Headers headers = new RecordHeaders();
+        byte[] json = serializer(TransactionEventSerializer.FORMAT_JSON).serialize(TOPIC, headers, event);
+
+        assertThat(new String(json, StandardCharsets.UTF_8)).startsWith("{");
+        // JSON keeps every field, the category name included
+        assertThat(deserializer.deserialize(TOPIC, headers, json)).isEqualTo(event);
+    }
+
+    @Test
+    void readsBinaryCreatedEvents() {
+        TransactionCreatedEvent event = createdEvent();
+        Headers headers = new RecordHeaders();
+        byte[] binary = serializer(TransactionEventSerializer.FORMAT_BINARY).serialize(TOPIC, headers, event);
+
+        event.setCategoryName(null);
+        assertThat(deserializer.deserialize(TOPIC, headers, binary)).isEqualTo(event);
+    }
+
+    @Test
+    void readsDeletedEventsByTheirHeader() {
+        TransactionDeletedEvent event = new TransactionDeletedEvent(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                new BigDecimal("-50000.00"),
+                5,
+                LocalDateTime.of(2025, 1, 15, 8, 0));
+        Headers headers = new RecordHeaders();
+        byte[] data = serializer(TransactionEventSerializer.FORMAT_BINARY).serialize(TOPIC, headers, event);
+
+        assertThat(headers.lastHeader(TransactionEventSerializer.EVENT_TYPE_HEADER)).isNotNull();
+        assertThat(deserializer.deserialize(TOPIC, headers, data)).isEqualTo(event);
+    }
+
+    @Test
+    void passesNullThrough() {
+        assertThat(deserializer.deserialize(TOPIC, new RecordHeaders(), (byte[]) null)).isNull();
+    }
+
+    @Test
+    void wrapsMalformedPayloads() {
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, "not an event".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static TransactionEventSerializer serializer(String format) {
+        TransactionEventSerializer serializer = new TransactionEventSerializer();
+        serializer.configure(Map.of(TransactionEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static TransactionCreatedEvent createdEvent() {
+        return new TransactionCreatedEvent(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                new BigDecimal("125000.00"),
+                1,
+                "transfer",
+                "income",
+                "Gaji bulanan",
+                LocalDateTime.of(2025, 1, 15, 12, 0));
+    }
+}
@@ -1,7 +1,7 @@
 package id.co.bankbsi.coinsight.ocr.config;
 
-import com.azure.ai.formrecognizer.DocumentAnalysisClient;
-import com.azure.ai.formrecognizer.DocumentAnalysisClientBuilder;
+import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClient;
+import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClientBuilder;
 import com.azure.core.credential.AzureKeyCredential;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
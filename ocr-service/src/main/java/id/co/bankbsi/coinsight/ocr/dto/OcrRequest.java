@@ -1,4 +1,3 @@
-src/main/java/id/co/bankbsi/coinsight/ocr/dto/OcrRequest.java
 package id.co.bankbsi.coinsight.ocr.dto;
 
 import lombok.AllArgsConstructor;
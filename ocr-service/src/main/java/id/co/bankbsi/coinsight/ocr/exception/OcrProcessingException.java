@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.ocr.exception;
+
+public class OcrProcessingException extends RuntimeException {
+    public OcrProcessingException(String message) {
+        super(message);
+    }
+}
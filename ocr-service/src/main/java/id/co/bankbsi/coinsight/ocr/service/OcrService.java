@@ -1,7 +1,9 @@
 package id.co.bankbsi.coinsight.ocr.service;
 
-import com.azure.ai.formrecognizer.DocumentAnalysisClient;
-import com.azure.ai.formrecognizer.models.*;
+import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClient;
+import com.azure.ai.formrecognizer.documentanalysis.models.*;
+import com.azure.core.util.Context;
+import com.azure.core.util.polling.SyncPoller;
 import id.co.bankbsi.coinsight.ocr.client.TransactionServiceClient;
 import id.co.bankbsi.coinsight.ocr.dto.OcrRequest;
 import id.co.bankbsi.coinsight.ocr.dto.OcrResponse;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -33,10 +36,10 @@ public class OcrService {
             
             // Analyze receipt using Azure Form Recognizer
             AnalyzeDocumentOptions options = new AnalyzeDocumentOptions()
-                    .setPages("1");
+                    .setPages(List.of("1"));
             
             SyncPoller<OperationResult, AnalyzeResult> analyzeReceiptPoller =
-                    documentAnalysisClient.beginAnalyzeDocumentFromUrl("prebuilt-receipt", request.getImageUrl(), options);
+                    documentAnalysisClient.beginAnalyzeDocumentFromUrl("prebuilt-receipt", request.getImageUrl(), options, Context.NONE);
             
             AnalyzeResult receiptResults = analyzeReceiptPoller.getFinalResult();
             
@@ -80,7 +83,7 @@ public class OcrService {
                 .build();
     }
     
-    private String extractRawText(AnalyzeResult result) {
+    String extractRawText(AnalyzeResult result) {
         StringBuilder text = new StringBuilder();
         for (DocumentPage page : result.getPages()) {
             for (DocumentLine line : page.getLines()) {
@@ -90,7 +93,7 @@ public class OcrService {
         return text.toString();
     }
     
-    private BigDecimal extractAmount(AnalyzeResult result) {
+    BigDecimal extractAmount(AnalyzeResult result) {
         // This is a simplified version. In a real-world application,
         // you would look for specific fields like "total" in the receipt
         try {
@@ -132,7 +135,7 @@ public class OcrService {
         return BigDecimal.ZERO;
     }
     
-    private LocalDateTime extractDate(AnalyzeResult result) {
+    LocalDateTime extractDate(AnalyzeResult result) {
         try {
             // Try to find date in structured data
             for (DocumentKeyValuePair kvp : result.getKeyValuePairs()) {
@@ -152,7 +155,7 @@ public class OcrService {
         return LocalDateTime.now();
     }
     
-    private String extractMerchantName(AnalyzeResult result) {
+    String extractMerchantName(AnalyzeResult result) {
         try {
             for (DocumentKeyValuePair kvp : result.getKeyValuePairs()) {
                 if (kvp.getKey() != null && 
@@ -178,7 +181,7 @@ public class OcrService {
         return "Unknown Merchant";
     }
     
-    private Map<String, Object> extractAdditionalFields(AnalyzeResult result) {
+    Map<String, Object> extractAdditionalFields(AnalyzeResult result) {
         Map<String, Object> fields = new HashMap<>();
         
         try {
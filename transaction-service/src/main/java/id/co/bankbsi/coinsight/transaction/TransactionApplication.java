@@ -4,9 +4,11 @@ package id.co.bankbsi.coinsight.transaction;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 public class TransactionApplication {
     public static void main(String[] args) {
         SpringApplication.run(TransactionApplication.class, args);
@@ -0,0 +1,95 @@
+package id.co.bankbsi.coinsight.transaction.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * In-process second-level cache for Hibernate. The JCache regions are created here, each with its
+ * own bound, before Hibernate starts, and the cache manager is handed to Hibernate so it never
+ * falls back to unbounded defaults. Every region reports {@code cache.gets}, {@code cache.puts}
+ * and {@code cache.evictions} to Micrometer, tagged with the region name.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CATEGORIES_REGION = "transaction-categories";
+    public static final String TRANSACTIONS_REGION = "transactions";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${transaction.second-level-cache.categories.max-size:1000}")
+    private long categoriesMaxSize;
+
+    @Value("${transaction.second-level-cache.categories.ttl:1h}")
+    private Duration categoriesTtl;
+
+    @Value("${transaction.second-level-cache.transactions.max-size:50000}")
+    private long transactionsMaxSize;
+
+    @Value("${transaction.second-level-cache.transactions.ttl:10m}")
+    private Duration transactionsTtl;
+
+    @Value("${transaction.second-level-cache.query-results.max-size:1000}")
+    private long queryResultsMaxSize;
+
+    @Value("${transaction.second-level-cache.query-results.ttl:10m}")
+    private Duration queryResultsTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, CATEGORIES_REGION, categoriesMaxSize, categoriesTtl);
+        createRegion(cacheManager, TRANSACTIONS_REGION, transactionsMaxSize, transactionsTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryResultsMaxSize, queryResultsTtl);
+        // Must never evict before the query results it guards, so it is left unbounded; it holds one entry per table
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, null, null);
+        return cacheManager;
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, Long maxSize, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate caches disassembled, immutable entry state, so copying on every read is pure overhead
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                new JCacheMetrics<>(hibernateCacheManager.getCache(name), Tags.empty()).bindTo(registry);
+            }
+        };
+    }
+}
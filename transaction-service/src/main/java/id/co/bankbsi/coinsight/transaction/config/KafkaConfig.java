@@ -1,5 +1,7 @@
 package id.co.bankbsi.coinsight.transaction.config;
 
+import id.co.bankbsi.coinsight.events.kafka.TransactionEventDeserializer;
+import id.co.bankbsi.coinsight.events.kafka.TransactionEventSerializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -8,13 +10,12 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,17 +23,38 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
+    /**
+     * Partition list for a {@code @TopicPartition} that covers the whole transactions topic, for
+     * listeners on {@link #broadcastListenerContainerFactory()}.
+     */
+    public static final String ALL_PARTITIONS = "0-#{${transaction.kafka.topic.partitions:12} - 1}";
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${transaction.kafka.topic.partitions:12}")
+    private int topicPartitions;
+
+    @Value("${transaction.kafka.topic.replicas:1}")
+    private short topicReplicas;
+
+    @Value("${transaction.kafka.listener.concurrency:3}")
+    private int listenerConcurrency;
+
+    @Value("${transaction.kafka.event-format:binary}")
+    private String eventFormat;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public NewTopic transactionTopic() {
         return TopicBuilder.name("transactions")
-                .partitions(1)
-                .replicas(1)
+                .partitions(topicPartitions)
+                .replicas(topicReplicas)
                 .build();
     }
 
@@ -41,7 +63,14 @@ public class KafkaConfig {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TransactionEventSerializer.class);
+        config.put(TransactionEventSerializer.FORMAT_CONFIG, eventFormat);
+        // Events are keyed by user id, so a user's events share a partition. Idempotence with at most
+        // 5 in-flight requests stops retries from reordering or duplicating them within it; that only
+        // holds because OutboxRelay sends each user's events from one relay, in commit order
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
         return new DefaultKafkaProducerFactory<>(config);
     }
 
@@ -52,12 +81,8 @@ public class KafkaConfig {
 
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
-        Map<String, Object> config = new HashMap<>();
-        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        Map<String, Object> config = consumerConfig();
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        config.put(JsonDeserializer.TRUSTED_PACKAGES, "id.co.bankbsi.coinsight.*");
         return new DefaultKafkaConsumerFactory<>(config);
     }
 
@@ -65,6 +90,44 @@ public class KafkaConfig {
     public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, Object>> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // One consumer thread per slot; each partition (and therefore each user) is handled by a single thread
+        factory.setConcurrency(listenerConcurrency);
+        applyVirtualThreads(factory);
         return factory;
     }
+
+    /**
+     * For listeners that every replica runs over the whole topic. They assign the partitions
+     * themselves ({@link #ALL_PARTITIONS}) instead of joining a consumer group, so replicas and
+     * restarts leave no groups behind on the broker. Nothing is committed: a listener starts at
+     * the end of the topic unless it seeks to a position it keeps itself.
+     */
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, Object>> broadcastListenerContainerFactory() {
+        Map<String, Object> config = consumerConfig();
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        applyVirtualThreads(factory);
+        return factory;
+    }
+
+    private Map<String, Object> consumerConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // Accepts both the binary codec and the JSON fallback
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, TransactionEventDeserializer.class);
+        return config;
+    }
+
+    private void applyVirtualThreads(ConcurrentKafkaListenerContainerFactory<String, Object> factory) {
+        if (virtualThreads) {
+            // Boot only applies virtual threads to its own factory, so mirror that here
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+    }
 }
\ No newline at end of file
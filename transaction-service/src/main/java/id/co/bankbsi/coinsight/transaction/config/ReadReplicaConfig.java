@@ -0,0 +1,96 @@
+package id.co.bankbsi.coinsight.transaction.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary pool plus one pool per read replica when
+ * {@code transaction.read-replicas.enabled} is set. Replica pools copy the primary's
+ * {@code spring.datasource} credentials and Hikari settings, with their own size and a short
+ * connection timeout so an unreachable replica fails over quickly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "transaction.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${transaction.read-replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${transaction.read-replicas.pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${transaction.read-replicas.connection-timeout-ms:1000}")
+    private long replicaConnectionTimeoutMs;
+
+    @Value("${transaction.read-replicas.max-lag:10s}")
+    private Duration maxLag;
+
+    @Value("${transaction.read-replicas.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    // Not an autowire candidate: the lazy proxy below is the application's only DataSource
+    @Bean(autowireCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setMinimumIdle(replicaPoolSize);
+            config.setConnectionTimeout(replicaConnectionTimeoutMs);
+            // Start even if the replica is down; the health check brings it into rotation later
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.add(new HikariDataSource(config));
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException(
+                    "transaction.read-replicas.enabled is set but transaction.read-replicas.urls is empty");
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag, readYourWritesWindow, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        // Set explicitly so the proxy doesn't open a connection at startup to find out
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.setTargetDataSource(replicaRoutingDataSource(properties, environment, meterRegistry));
+        return proxy;
+    }
+}
@@ -0,0 +1,205 @@
+package id.co.bankbsi.coinsight.transaction.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica, round-robin, and everything
+ * else to the primary. Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before the read-only flag is bound to the thread, so the physical
+ * connection has to be fetched lazily, on the first statement.
+ *
+ * <p>Replicas are checked on a schedule and taken out of rotation when unreachable or lagging
+ * more than {@code max-lag}; a replica that fails to hand out a connection is dropped on the spot
+ * and the read falls back to the primary.
+ *
+ * <p>Read-your-writes: once a user runs a read-write transaction, their reads stay on the primary
+ * for {@code read-your-writes-window}. The window is tracked per instance, so it relies on the
+ * same instance serving the follow-up read or on the window outlasting replica lag.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    // Zero while the replica has replayed everything it received, so an idle primary doesn't read as lag
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() " +
+            "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final int healthCheckTimeoutSeconds;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFailovers;
+
+    public ReplicaRoutingDataSource(
+            HikariDataSource primary,
+            List<HikariDataSource> replicas,
+            Duration maxLag,
+            Duration readYourWritesWindow,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, maxLag.toSeconds());
+        this.recentWriters = readYourWritesWindow.isZero()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).maximumSize(100_000).build();
+
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+        this.replicaConnections = connectionCounter(meterRegistry, "replica");
+        this.replicaFailovers = Counter.builder("transaction.datasource.replica.failovers")
+                .description("Read-only connections that fell back to the primary because a replica failed")
+                .register(meterRegistry);
+        Gauge.builder("transaction.datasource.replicas.healthy", this.replicas,
+                        list -> list.stream().filter(replica -> replica.healthy).count())
+                .description("Read replicas currently in rotation")
+                .register(meterRegistry);
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("transaction.datasource.connections")
+                .description("Connections handed out, by the pool they were routed to")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+                replicaFailovers.increment();
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryConnections.increment();
+        return primary.getConnection(username, password);
+    }
+
+    private Replica selectReplica() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWrite(user);
+            return null;
+        }
+        if (recentWriters != null && user != null && recentWriters.getIfPresent(user) != null) {
+            return null;
+        }
+
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts the read-your-writes window for {@code user}. Called directly for writes made on a
+     * thread that does not carry the user's authentication.
+     */
+    public void recordWrite(String user) {
+        if (recentWriters != null && user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.read-replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(healthCheckTimeoutSeconds);
+                try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                    rs.next();
+                    double lagSeconds = rs.getDouble(1);
+                    if (lagSeconds * 1000 > maxLag.toMillis()) {
+                        replica.markDown(String.format("replication lag %.1fs", lagSeconds));
+                    } else {
+                        replica.markUp();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        // Out of rotation until the first health check passes
+        private volatile boolean healthy;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                log.info("Read replica {} is back in rotation", dataSource.getPoolName());
+                healthy = true;
+            }
+        }
+
+        void markDown(String reason) {
+            if (healthy) {
+                log.warn("Read replica {} taken out of rotation: {}", dataSource.getPoolName(), reason);
+                healthy = false;
+            }
+        }
+    }
+}
@@ -1,15 +1,34 @@
 package id.co.bankbsi.coinsight.transaction.controller;
 
 import id.co.bankbsi.coinsight.transaction.dto.*;
+import id.co.bankbsi.coinsight.transaction.service.BalanceLedgerService;
+import id.co.bankbsi.coinsight.transaction.service.BalanceReconciliationService;
+import id.co.bankbsi.coinsight.transaction.service.ExportFormat;
+import id.co.bankbsi.coinsight.transaction.service.IdempotencyService;
+import id.co.bankbsi.coinsight.transaction.service.SpendingAnalyticsService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionBatchService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionExportService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionGroupCommitter;
+import id.co.bankbsi.coinsight.transaction.service.TransactionSearchService;
 import id.co.bankbsi.coinsight.transaction.service.TransactionService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionTrendService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionWatermarks;
+import id.co.bankbsi.coinsight.transaction.service.TrendGranularity;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,18 +37,47 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    // Clients may keep polled responses but must revalidate them, and shared caches must not store them
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionTrendService transactionTrendService;
+    private final TransactionSearchService transactionSearchService;
+    private final IdempotencyService idempotencyService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BalanceReconciliationService balanceReconciliationService;
+    private final SpendingAnalyticsService spendingAnalyticsService;
+    private final TransactionWatermarks transactionWatermarks;
+    private final TransactionGroupCommitter transactionGroupCommitter;
 
     @PostMapping
-    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest request) {
-        TransactionResponse response = transactionService.createTransaction(request);
+    public ResponseEntity<TransactionResponse> createTransaction(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        UUID userId = transactionService.getCurrentUserId();
+        // Keyed requests stay on the direct path, which claims the key in the row's own transaction
+        TransactionResponse response = idempotencyKey == null && transactionGroupCommitter.isEnabled()
+                ? transactionGroupCommitter.createTransaction(userId, request)
+                : idempotencyService.execute(userId, idempotencyKey, () -> transactionService.createTransaction(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponse> createTransactions(@Valid @RequestBody BatchTransactionRequest request) {
+        UUID userId = transactionService.getCurrentUserId();
+        BatchTransactionResponse response = transactionBatchService.createTransactions(userId, request.getTransactions());
+        return ResponseEntity.ok(response);
+    }
+    
     @PostMapping("/ocr")
-    public ResponseEntity<TransactionResponse> createTransactionFromOCR(@Valid @RequestBody OCRTransactionRequest request) {
+    public ResponseEntity<TransactionResponse> createTransactionFromOCR(
+            @Valid @RequestBody OCRTransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         UUID userId = transactionService.getCurrentUserId();
-        TransactionResponse response = transactionService.createTransactionFromOCR(userId, request);
+        TransactionResponse response = idempotencyService.execute(
+                userId, idempotencyKey, () -> transactionService.createTransactionFromOCR(userId, request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -39,12 +87,23 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/receipt")
+    public ResponseEntity<ReceiptResponse> getReceipt(@PathVariable UUID id) {
+        ReceiptResponse response = transactionService.getReceipt(id);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<PageResponse<TransactionResponse>> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PageResponse<TransactionResponse> response = transactionService.getAllTransactions(page, size);
-        return ResponseEntity.ok(response);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeReceipt,
+            WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        PageResponse<TransactionResponse> response = transactionService.getAllTransactions(page, size, includeReceipt);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(response);
     }
 
     @GetMapping("/date-range")
@@ -52,24 +111,158 @@ public class TransactionController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeReceipt,
+            WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         PageResponse<TransactionResponse> response = transactionService.getTransactionsByDateRange(
-                startDate, endDate, page, size);
+                startDate, endDate, page, size, includeReceipt);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(response);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> getTransactionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeReceipt,
+            WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        CursorPageResponse<TransactionResponse> response = transactionService.getTransactionsByCursor(cursor, size, includeReceipt);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(response);
+    }
+
+    @GetMapping("/date-range/cursor")
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> getTransactionsByDateRangeCursor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeReceipt,
+            WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        CursorPageResponse<TransactionResponse> response = transactionService.getTransactionsByDateRangeCursor(
+                startDate, endDate, cursor, size, includeReceipt);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(response);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> searchTransactions(
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeReceipt) {
+        UUID userId = transactionService.getCurrentUserId();
+        CursorPageResponse<TransactionResponse> response = transactionSearchService.search(
+                userId, q, startDate, endDate, categoryId, cursor, size, includeReceipt);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        // Resolved here: the body is written on an async thread without the security context
+        UUID userId = transactionService.getCurrentUserId();
+        ExportFormat exportFormat = ExportFormat.from(format);
+        
+        StreamingResponseBody body = out -> transactionExportService.export(userId, startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<TransactionSummaryResponse> getTransactionSummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         TransactionSummaryResponse response = transactionService.getTransactionSummary(startDate, endDate);
+        // A circuit-breaker fallback must not be kept under the current ETag, or it would be revalidated as fresh
+        CacheControl cacheControl = response.isStale() ? CacheControl.noStore() : REVALIDATE;
+        return ResponseEntity.ok().cacheControl(cacheControl).body(response);
+    }
+
+    @GetMapping("/balance")
+    public ResponseEntity<BalanceResponse> getBalance() {
+        UUID userId = transactionService.getCurrentUserId();
+        return ResponseEntity.ok(balanceLedgerService.getBalance(userId));
+    }
+
+    @PostMapping("/balance/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BalanceReconciliationReport> reconcileBalances() {
+        return ResponseEntity.ok(balanceReconciliationService.reconcile());
+    }
+
+    @GetMapping("/trends")
+    public ResponseEntity<TrendResponse> getTrends(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "month") String granularity) {
+        TrendResponse response = transactionTrendService.getTrends(
+                transactionService.getCurrentUserId(), startDate, endDate, TrendGranularity.from(granularity));
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/analytics/top-merchants")
+    public ResponseEntity<TopMerchantsResponse> getTopMerchants(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(spendingAnalyticsService.topMerchants(month, categoryId, limit));
+    }
+
+    @GetMapping("/analytics/spend-percentiles")
+    public ResponseEntity<SpendPercentilesResponse> getSpendPercentiles(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam Integer categoryId) {
+        UUID userId = transactionService.getCurrentUserId();
+        return ResponseEntity.ok(spendingAnalyticsService.spendPercentiles(userId, month, categoryId));
+    }
+
+    /**
+     * Checks If-None-Match / If-Modified-Since against the user's cached change watermark before
+     * any query runs. When this returns true Spring has already set 304 and the handler returns
+     * null; otherwise the ETag and Last-Modified headers are on the response. The category
+     * registry's ETag is part of the tag, since these responses carry category names.
+     */
+    private boolean notModified(WebRequest webRequest) {
+        UUID userId = transactionService.getCurrentUserId();
+        TransactionWatermarks.Watermark watermark = transactionWatermarks.current(userId);
+        String categories = transactionService.getCategoriesETag().replace("\"", "");
+        return webRequest.checkNotModified(watermark.etag(userId, categories), watermark.lastModified());
+    }
+
     @GetMapping("/categories")
     public ResponseEntity<List<TransactionCategoryDto>> getAllCategories() {
         List<TransactionCategoryDto> categories = transactionService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        // Spring MVC answers a matching If-None-Match with 304 and an empty body
+        return ResponseEntity.ok()
+                .eTag(transactionService.getCategoriesETag())
+                .body(categories);
+    }
+
+    // Reloads this replica now; the others pick the change up on their next scheduled reload
+    @PostMapping("/categories/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> refreshCategories() {
+        transactionService.refreshCategories();
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
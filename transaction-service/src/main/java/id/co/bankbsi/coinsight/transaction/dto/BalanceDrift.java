@@ -0,0 +1,25 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDrift {
+    private UUID userId;
+    private BigDecimal ledgerIncome;
+    private BigDecimal actualIncome;
+    private BigDecimal ledgerExpense;
+    private BigDecimal actualExpense;
+    private long ledgerCount;
+    private long actualCount;
+    // False when repair is off or a concurrent write changed the ledger first
+    private boolean repaired;
+}
@@ -0,0 +1,29 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceReconciliationReport {
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    private long durationMs;
+    private long checkedUsers;
+    private long driftedUsers;
+    private long repairedUsers;
+    // Set when another instance held the reconciliation lock and nothing was checked
+    private boolean skipped;
+    // Capped at max-reported-drifts; driftedUsers has the full count
+    private List<BalanceDrift> drifts;
+}
@@ -0,0 +1,25 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceResponse {
+    private BigDecimal balance;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private long transactionCount;
+    private long version;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
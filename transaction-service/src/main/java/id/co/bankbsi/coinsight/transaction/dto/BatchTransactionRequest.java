@@ -0,0 +1,19 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionRequest {
+    // Items are validated one by one in TransactionBatchService, so a bad row fails alone
+    @NotEmpty
+    private List<TransactionRequest> transactions;
+}
@@ -0,0 +1,18 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantEstimate {
+    private String merchant;
+    private long estimate;
+    // The true count is guaranteed to lie within [lowerBound, upperBound]
+    private long lowerBound;
+    private long upperBound;
+}
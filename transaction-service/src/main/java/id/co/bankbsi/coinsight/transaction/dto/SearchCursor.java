@@ -0,0 +1,48 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import id.co.bankbsi.coinsight.transaction.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Position of the last row on a search page: (rank, transactionDate, id), matching the search
+ * sort order. The rank is carried exactly so the next page compares against the same float.
+ */
+@Data
+@AllArgsConstructor
+public class SearchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private float rank;
+    private LocalDateTime transactionDate;
+    private UUID id;
+
+    public String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + transactionDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(
+                    Float.parseFloat(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendPercentilesResponse {
+    private String month;
+    private Integer categoryId;
+    private String categoryName;
+
+    // Distribution of single-transaction amounts in the category, across all users
+    private long sampleCount;
+    // Returned quantiles have a rank within +/- rankError of the requested one, with 99% confidence
+    private double rankError;
+    private BigDecimal p50;
+    private BigDecimal p75;
+    private BigDecimal p90;
+    private BigDecimal p99;
+
+    // The caller's own figures for the month, exact, from the daily rollups
+    private long userTransactionCount;
+    private BigDecimal userAverageAmount;
+    // Fraction of transactions in the category at or below the caller's average, same rankError
+    private Double userPercentileRank;
+}
@@ -0,0 +1,25 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopMerchantsResponse {
+    private String month;
+    // Null when ranking merchants across all categories
+    private Integer categoryId;
+    // Transactions counted in this window
+    private long streamLength;
+    // Deterministic bound: no estimate is off by more than this many transactions
+    private long maximumError;
+    // Worst-case error as a fraction of streamLength for the configured sketch size
+    private double epsilon;
+    private List<MerchantEstimate> merchants;
+}
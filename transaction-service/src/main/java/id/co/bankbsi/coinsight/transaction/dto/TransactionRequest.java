@@ -1,6 +1,10 @@
 package id.co.bankbsi.coinsight.transaction.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,8 +18,16 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TransactionRequest {
+    // Must fit the DECIMAL(12, 2) amount column exactly
+    @NotNull
+    @Positive
+    @Digits(integer = 10, fraction = 2)
     private BigDecimal amount;
+
+    @NotNull
     private Integer categoryId;
+
+    @Size(max = 255)
     private String description;
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TransactionSummaryResponse {
@@ -20,4 +20,6 @@ public class TransactionSummaryResponse {
     private Map<String, BigDecimal> expenseByCategory;
     private Map<String, BigDecimal> incomeByCategory;
     private List<TransactionResponse> recentTransactions;
+    // Set when served by the circuit-breaker fallback instead of a fresh computation
+    private boolean stale;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Columnar trend data: {@code buckets} holds the start date of every bucket in the range (empty
+ * ones included) and every other list is aligned with it by index.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendResponse {
+    private String granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<LocalDate> buckets;
+    private List<BigDecimal> income;
+    private List<BigDecimal> expense;
+    private List<TrendSeries> series;
+}
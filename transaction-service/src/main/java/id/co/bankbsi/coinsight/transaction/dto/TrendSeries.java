@@ -0,0 +1,21 @@
+package id.co.bankbsi.coinsight.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendSeries {
+    private Integer categoryId;
+    private String category;
+    private String type;
+    // One value per entry in TrendResponse.buckets
+    private List<BigDecimal> values;
+}
@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.transaction.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
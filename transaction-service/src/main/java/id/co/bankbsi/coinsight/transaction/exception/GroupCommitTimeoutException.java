@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.transaction.exception;
+
+public class GroupCommitTimeoutException extends RuntimeException {
+    public GroupCommitTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.transaction.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
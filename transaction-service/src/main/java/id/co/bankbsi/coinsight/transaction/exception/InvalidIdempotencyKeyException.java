@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.transaction.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
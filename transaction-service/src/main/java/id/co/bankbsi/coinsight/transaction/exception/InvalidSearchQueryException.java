@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.transaction.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.transaction.exception;
+
+public class InvalidTrendRequestException extends RuntimeException {
+    public InvalidTrendRequestException(String message) {
+        super(message);
+    }
+}
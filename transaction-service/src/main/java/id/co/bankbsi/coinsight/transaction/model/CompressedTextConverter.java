@@ -0,0 +1,98 @@
+package id.co.bankbsi.coinsight.transaction.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores text as a one-byte codec marker followed by the payload: raw UTF-8 for short values,
+ * deflate-compressed UTF-8 once compression actually saves space. Entities only ever see the
+ * plain String.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    static final byte CODEC_PLAIN = 0;
+    static final byte CODEC_DEFLATE = 1;
+
+    private static final int MIN_COMPRESS_BYTES = 256;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= MIN_COMPRESS_BYTES) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length < raw.length) {
+                return withCodec(CODEC_DEFLATE, compressed);
+            }
+        }
+        return withCodec(CODEC_PLAIN, raw);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        byte[] payload = Arrays.copyOfRange(data, 1, data.length);
+        return switch (data[0]) {
+            case CODEC_PLAIN -> new String(payload, StandardCharsets.UTF_8);
+            case CODEC_DEFLATE -> new String(inflate(payload), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("Unknown receipt codec: " + data[0]);
+        };
+    }
+
+    private static byte[] withCodec(byte codec, byte[] payload) {
+        byte[] data = new byte[payload.length + 1];
+        data[0] = codec;
+        System.arraycopy(payload, 0, data, 1, payload.length);
+        return data;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated compressed receipt");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed receipt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
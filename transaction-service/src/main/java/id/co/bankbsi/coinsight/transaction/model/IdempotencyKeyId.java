@@ -0,0 +1,23 @@
+package id.co.bankbsi.coinsight.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyId implements Serializable {
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+}
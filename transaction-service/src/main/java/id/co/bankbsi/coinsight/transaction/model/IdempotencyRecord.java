@@ -0,0 +1,36 @@
+package id.co.bankbsi.coinsight.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "transaction_idempotency_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @EmbeddedId
+    private IdempotencyKeyId id;
+
+    @Column(name = "transaction_id")
+    private UUID transactionId;
+
+    // The original TransactionResponse as JSON, replayed verbatim on retries
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "response_data")
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
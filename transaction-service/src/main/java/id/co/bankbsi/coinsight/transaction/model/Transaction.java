@@ -1,10 +1,14 @@
 package id.co.bankbsi.coinsight.transaction.model;
 
+import id.co.bankbsi.coinsight.transaction.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnTransformer;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,6 +18,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "transactions")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TRANSACTIONS_REGION)
 @Data
 @Builder
 @NoArgsConstructor
@@ -37,9 +42,6 @@ public class Transaction {
     @Column(name = "description")
     private String description;
     
-    @Column(name = "receipt_text")
-    private String receiptText;
-    
     @Column(name = "transaction_date")
     private LocalDateTime transactionDate;
     
@@ -50,4 +52,15 @@ public class Transaction {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    // The description, indexed for search; written as a tsvector, never read back. Receipt text is
+    // indexed on TransactionReceipt instead, so it does not widen this row
+    @ColumnTransformer(read = "NULL", write = "to_tsvector('simple', ?)")
+    @Column(name = "search_vector", columnDefinition = "tsvector", updatable = false)
+    private String searchText;
+    
+    @PrePersist
+    void defaultSearchText() {
+        searchText = description;
+    }
 }
\ No newline at end of file
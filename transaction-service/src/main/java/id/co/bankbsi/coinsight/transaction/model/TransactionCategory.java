@@ -1,14 +1,18 @@
 // filepath: transaction-service/src/main/java/id/co/bankbsi/coinsight/transaction/model/TransactionCategory.java
 package id.co.bankbsi.coinsight.transaction.model;
 
+import id.co.bankbsi.coinsight.transaction.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "transaction_categories")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = HibernateCacheConfig.CATEGORIES_REGION)
 @Data
 @Builder
 @NoArgsConstructor
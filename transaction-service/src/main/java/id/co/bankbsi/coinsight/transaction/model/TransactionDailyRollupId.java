@@ -0,0 +1,27 @@
+package id.co.bankbsi.coinsight.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDailyRollupId implements Serializable {
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+}
@@ -0,0 +1,46 @@
+package id.co.bankbsi.coinsight.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnTransformer;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "transaction_receipts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionReceipt {
+
+    @Id
+    @Column(name = "transaction_id")
+    private UUID transactionId;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "receipt_data", nullable = false)
+    private String receiptText;
+
+    // The receipt text, indexed for search; written as a tsvector, never read back
+    @ColumnTransformer(read = "NULL", write = "to_tsvector('simple', ?)")
+    @Column(name = "search_vector", columnDefinition = "tsvector", updatable = false)
+    private String searchText;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void defaultSearchText() {
+        searchText = receiptText;
+    }
+}
@@ -0,0 +1,44 @@
+package id.co.bankbsi.coinsight.transaction.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lifetime totals for one user in minor units. Only ever written through
+ * {@code UserBalanceRepository}'s native statements; {@code version} goes up by one with every
+ * change, so it doubles as a change token for readers and for reconciliation repairs.
+ */
+@Entity
+@Table(name = "user_balances")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "income_minor", nullable = false)
+    private long incomeMinor;
+
+    @Column(name = "expense_minor", nullable = false)
+    private long expenseMinor;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package id.co.bankbsi.coinsight.transaction.repository;
+
+import id.co.bankbsi.coinsight.transaction.model.IdempotencyKeyId;
+import id.co.bankbsi.coinsight.transaction.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyKeyId> {
+
+    // Returns 1 when the key is new or its previous use has expired, 0 when it is still held.
+    // A concurrent request with the same key blocks on the primary key until the first one
+    // commits (0, replay its response) or rolls back (1, take over the key).
+    @Modifying
+    @Query(value = "INSERT INTO transaction_idempotency_keys (user_id, idempotency_key, created_at, expires_at) " +
+            "VALUES (:userId, :key, :now, :expiresAt) " +
+            "ON CONFLICT (user_id, idempotency_key) DO UPDATE SET " +
+            "transaction_id = NULL, response_data = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE transaction_idempotency_keys.expires_at <= EXCLUDED.created_at",
+            nativeQuery = true)
+    int claim(
+            @Param("userId") UUID userId,
+            @Param("key") String key,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_idempotency_keys WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,20 @@
+package id.co.bankbsi.coinsight.transaction.repository;
+
+import id.co.bankbsi.coinsight.transaction.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Callers hold the bucket's advisory lock, so one relay at a time reads a bucket, in id order
+    @Query(value = "SELECT * FROM transaction_outbox " +
+            "WHERE (hashtext(COALESCE(message_key, '')) & 2147483647) % :buckets = :bucket " +
+            "ORDER BY id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("bucket") int bucket, @Param("buckets") int buckets, @Param("limit") int limit);
+}
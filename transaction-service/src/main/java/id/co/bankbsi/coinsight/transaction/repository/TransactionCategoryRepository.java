@@ -1,12 +1,22 @@
 package id.co.bankbsi.coinsight.transaction.repository;
 
 import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionCategoryRepository extends JpaRepository<TransactionCategory, Integer> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TransactionCategory> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TransactionCategory> findByName(String name);
-}
\ No newline at end of file
+}
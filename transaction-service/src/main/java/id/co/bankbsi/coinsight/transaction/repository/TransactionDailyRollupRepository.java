@@ -0,0 +1,83 @@
+package id.co.bankbsi.coinsight.transaction.repository;
+
+import id.co.bankbsi.coinsight.transaction.model.TransactionDailyRollup;
+import id.co.bankbsi.coinsight.transaction.model.TransactionDailyRollupId;
+import id.co.bankbsi.coinsight.transaction.repository.projection.CategorySpendProjection;
+import id.co.bankbsi.coinsight.transaction.repository.projection.CategoryTotalProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TransactionDailyRollupRepository extends JpaRepository<TransactionDailyRollup, TransactionDailyRollupId> {
+
+    @Query("SELECT r.id.categoryId AS categoryId, CAST(SUM(r.totalAmount) * 100 AS Long) AS totalMinorUnits " +
+            "FROM TransactionDailyRollup r " +
+            "WHERE r.id.userId = :userId AND r.id.rollupDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.id.categoryId")
+    List<CategoryTotalProjection> sumByCategory(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(r.totalAmount), 0) AS totalAmount, " +
+            "COALESCE(SUM(r.transactionCount), 0) AS transactionCount " +
+            "FROM TransactionDailyRollup r " +
+            "WHERE r.id.userId = :userId AND r.id.categoryId = :categoryId " +
+            "AND r.id.rollupDate BETWEEN :startDate AND :endDate")
+    CategorySpendProjection sumForCategory(
+            @Param("userId") UUID userId,
+            @Param("categoryId") Integer categoryId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_daily_rollups " +
+            "(user_id, rollup_date, category_id, total_amount, transaction_count) " +
+            "VALUES (:userId, :rollupDate, :categoryId, :amount, :count) " +
+            "ON CONFLICT (user_id, rollup_date, category_id) DO UPDATE SET " +
+            "total_amount = transaction_daily_rollups.total_amount + EXCLUDED.total_amount, " +
+            "transaction_count = transaction_daily_rollups.transaction_count + EXCLUDED.transaction_count",
+            nativeQuery = true)
+    int applyDelta(
+            @Param("userId") UUID userId,
+            @Param("rollupDate") LocalDate rollupDate,
+            @Param("categoryId") Integer categoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_daily_rollups " +
+            "WHERE user_id = :userId AND rollup_date = :rollupDate AND category_id = :categoryId " +
+            "AND transaction_count <= 0",
+            nativeQuery = true)
+    int deleteIfEmpty(
+            @Param("userId") UUID userId,
+            @Param("rollupDate") LocalDate rollupDate,
+            @Param("categoryId") Integer categoryId);
+
+    @Modifying
+    @Query(value = "LOCK TABLE transactions IN SHARE MODE", nativeQuery = true)
+    void lockTransactionsForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_daily_rollups", nativeQuery = true)
+    int deleteAllRollups();
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_daily_rollups " +
+            "(user_id, rollup_date, category_id, total_amount, transaction_count) " +
+            "SELECT user_id, CAST(transaction_date AS DATE), category_id, SUM(amount), COUNT(*) " +
+            "FROM transactions " +
+            "WHERE user_id IS NOT NULL AND category_id IS NOT NULL AND transaction_date IS NOT NULL " +
+            "GROUP BY user_id, CAST(transaction_date AS DATE), category_id",
+            nativeQuery = true)
+    int rebuildFromTransactions();
+}
@@ -0,0 +1,11 @@
+package id.co.bankbsi.coinsight.transaction.repository;
+
+import id.co.bankbsi.coinsight.transaction.model.TransactionReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface TransactionReceiptRepository extends JpaRepository<TransactionReceipt, UUID> {
+}
@@ -1,9 +1,13 @@
 package id.co.bankbsi.coinsight.transaction.repository;
 
 import id.co.bankbsi.coinsight.transaction.model.Transaction;
+import id.co.bankbsi.coinsight.transaction.repository.projection.TransactionListProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -12,9 +16,69 @@ import java.util.UUID;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    Page<Transaction> findByUserId(UUID userId, Pageable pageable);
-    Page<Transaction> findByUserIdAndTransactionDateBetween(
-            UUID userId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
-    List<Transaction> findByUserIdAndTransactionDateBetweenOrderByTransactionDateDesc(
-            UUID userId, LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+
+    // List reads select only these columns; t.category.id is the FK column, so no category join or select
+    String LIST_SELECT = "SELECT t.id AS id, t.userId AS userId, t.amount AS amount, " +
+            "t.category.id AS categoryId, t.description AS description, " +
+            "t.transactionDate AS transactionDate, t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+            "FROM Transaction t ";
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
+    @Query(value = LIST_SELECT + "WHERE t.userId = :userId",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId")
+    Page<TransactionListProjection> findListByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(value = LIST_SELECT + "WHERE t.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(t) FROM Transaction t " +
+                    "WHERE t.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate")
+    Page<TransactionListProjection> findListByUserIdAndDateBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+
+    @Query(LIST_SELECT + "WHERE t.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionListProjection> findRecentByUserIdAndDateBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Limit limit);
+
+    // Keyset pagination: seeks on idx_transactions_user_date_id instead of OFFSET scanning, no count query.
+    // The plain transactionDate <= bound gives the index (and partition pruning) a range start; the OR
+    // only filters rows sharing the cursor's timestamp.
+    @Query(LIST_SELECT + "WHERE t.userId = :userId " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionListProjection> findFirstKeysetPage(@Param("userId") UUID userId, Limit limit);
+
+    @Query(LIST_SELECT + "WHERE t.userId = :userId AND t.transactionDate <= :cursorDate " +
+            "AND (t.transactionDate < :cursorDate OR t.id < :cursorId) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionListProjection> findKeysetPageAfter(
+            @Param("userId") UUID userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") UUID cursorId,
+            Limit limit);
+
+    @Query(LIST_SELECT + "WHERE t.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionListProjection> findFirstKeysetPageBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Limit limit);
+
+    @Query(LIST_SELECT + "WHERE t.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "AND t.transactionDate <= :cursorDate " +
+            "AND (t.transactionDate < :cursorDate OR t.id < :cursorId) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionListProjection> findKeysetPageBetweenAfter(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") UUID cursorId,
+            Limit limit);
+}
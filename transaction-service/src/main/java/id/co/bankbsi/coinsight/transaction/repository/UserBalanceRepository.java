@@ -0,0 +1,58 @@
+package id.co.bankbsi.coinsight.transaction.repository;
+
+import id.co.bankbsi.coinsight.transaction.model.UserBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserBalanceRepository extends JpaRepository<UserBalance, UUID> {
+
+    // Increments in place, so concurrent writers for the same user serialize on the row lock
+    // instead of losing updates
+    @Modifying
+    @Query(value = "INSERT INTO user_balances " +
+            "(user_id, income_minor, expense_minor, transaction_count, version, updated_at) " +
+            "VALUES (:userId, :incomeMinor, :expenseMinor, :count, 1, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "income_minor = user_balances.income_minor + EXCLUDED.income_minor, " +
+            "expense_minor = user_balances.expense_minor + EXCLUDED.expense_minor, " +
+            "transaction_count = user_balances.transaction_count + EXCLUDED.transaction_count, " +
+            "version = user_balances.version + 1, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int applyDelta(
+            @Param("userId") UUID userId,
+            @Param("incomeMinor") long incomeMinor,
+            @Param("expenseMinor") long expenseMinor,
+            @Param("count") long count);
+
+    // Optimistic: only overwrites the ledger if no create/delete has touched it since it was checked
+    @Modifying
+    @Query(value = "UPDATE user_balances SET income_minor = :incomeMinor, expense_minor = :expenseMinor, " +
+            "transaction_count = :count, version = version + 1, updated_at = now() " +
+            "WHERE user_id = :userId AND version = :expectedVersion",
+            nativeQuery = true)
+    int overwriteIfVersion(
+            @Param("userId") UUID userId,
+            @Param("expectedVersion") long expectedVersion,
+            @Param("incomeMinor") long incomeMinor,
+            @Param("expenseMinor") long expenseMinor,
+            @Param("count") long count);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_balances " +
+            "(user_id, income_minor, expense_minor, transaction_count, version, updated_at) " +
+            "VALUES (:userId, :incomeMinor, :expenseMinor, :count, 1, now()) " +
+            "ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfMissing(
+            @Param("userId") UUID userId,
+            @Param("incomeMinor") long incomeMinor,
+            @Param("expenseMinor") long expenseMinor,
+            @Param("count") long count);
+}
@@ -0,0 +1,8 @@
+package id.co.bankbsi.coinsight.transaction.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface CategorySpendProjection {
+    BigDecimal getTotalAmount();
+    Long getTransactionCount();
+}
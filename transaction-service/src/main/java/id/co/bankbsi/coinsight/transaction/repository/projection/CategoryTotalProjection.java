@@ -0,0 +1,7 @@
+package id.co.bankbsi.coinsight.transaction.repository.projection;
+
+public interface CategoryTotalProjection {
+    Integer getCategoryId();
+    // Sum in minor units (amount * 100), see Money
+    Long getTotalMinorUnits();
+}
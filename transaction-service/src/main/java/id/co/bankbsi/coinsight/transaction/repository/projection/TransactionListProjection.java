@@ -0,0 +1,20 @@
+package id.co.bankbsi.coinsight.transaction.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns needed to render a transaction in list views. Excludes the category association;
+ * categories are resolved from {@code CategoryRegistry}.
+ */
+public interface TransactionListProjection {
+    UUID getId();
+    UUID getUserId();
+    BigDecimal getAmount();
+    Integer getCategoryId();
+    String getDescription();
+    LocalDateTime getTransactionDate();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,49 @@
+package id.co.bankbsi.coinsight.transaction.runner;
+
+import id.co.bankbsi.coinsight.transaction.dto.BalanceReconciliationReport;
+import id.co.bankbsi.coinsight.transaction.service.BalanceReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills user_balances for users whose transactions predate the ledger, and repairs any
+ * ledger that drifted. Run the service jar with {@code --backfill-balances}; the application
+ * exits once a pass finds no drift, with a non-zero status if it never did.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceBackfillRunner implements ApplicationRunner {
+
+    static final String BACKFILL_OPTION = "backfill-balances";
+
+    private final BalanceReconciliationService reconciliationService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${transaction.balance.backfill.max-passes:5}")
+    private int maxPasses;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(BACKFILL_OPTION)) {
+            return;
+        }
+
+        log.info("Backfilling balance ledgers from raw transactions");
+        BalanceReconciliationReport report = reconciliationService.backfill(maxPasses);
+        boolean clean = !report.isSkipped() && report.getDriftedUsers() == 0;
+        if (clean) {
+            log.info("Balance backfill finished, {} users checked, shutting down", report.getCheckedUsers());
+        } else {
+            log.error("Balance backfill left {} drifted ledgers after {} passes, shutting down",
+                    report.getDriftedUsers(), maxPasses);
+        }
+        System.exit(SpringApplication.exit(context, () -> clean ? 0 : 1));
+    }
+}
@@ -0,0 +1,37 @@
+package id.co.bankbsi.coinsight.transaction.runner;
+
+import id.co.bankbsi.coinsight.transaction.service.TransactionRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills transaction_daily_rollups from the raw transactions table.
+ * Run the service jar with {@code --rebuild-rollups}; the application exits once the rebuild completes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-rollups";
+
+    private final TransactionRollupService rollupService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(REBUILD_OPTION)) {
+            return;
+        }
+
+        log.info("Rebuilding transaction rollups from raw transactions");
+        int rows = rollupService.rebuildAll();
+        log.info("Rollup rebuild finished with {} rows, shutting down", rows);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,107 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.BalanceResponse;
+import id.co.bankbsi.coinsight.transaction.model.Transaction;
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import id.co.bankbsi.coinsight.transaction.model.UserBalance;
+import id.co.bankbsi.coinsight.transaction.repository.UserBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps one running-balance row per user in user_balances. Like the daily rollups, the ledger
+ * is updated from inside the create/delete transaction, so a balance read is a single primary
+ * key lookup that always agrees with the committed rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceLedgerService {
+
+    private final UserBalanceRepository userBalanceRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        Delta delta = new Delta();
+        delta.add(transaction, 1);
+        delta.applyTo(transaction.getUserId());
+    }
+
+    /**
+     * Folds a batch into one upsert per user rather than one per row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        UUID userId = transactions.get(0).getUserId();
+        Delta delta = new Delta();
+        for (Transaction transaction : transactions) {
+            if (!transaction.getUserId().equals(userId)) {
+                delta.applyTo(userId);
+                userId = transaction.getUserId();
+                delta = new Delta();
+            }
+            delta.add(transaction, 1);
+        }
+        delta.applyTo(userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Transaction transaction) {
+        Delta delta = new Delta();
+        delta.add(transaction, -1);
+        delta.applyTo(transaction.getUserId());
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceResponse getBalance(UUID userId) {
+        return userBalanceRepository.findById(userId)
+                .map(BalanceLedgerService::toResponse)
+                .orElseGet(() -> BalanceResponse.builder()
+                        .balance(BigDecimal.valueOf(0, Money.SCALE))
+                        .totalIncome(BigDecimal.valueOf(0, Money.SCALE))
+                        .totalExpense(BigDecimal.valueOf(0, Money.SCALE))
+                        .build());
+    }
+
+    private static BalanceResponse toResponse(UserBalance balance) {
+        return BalanceResponse.builder()
+                .balance(Money.toBigDecimal(Math.subtractExact(balance.getIncomeMinor(), balance.getExpenseMinor())))
+                .totalIncome(Money.toBigDecimal(balance.getIncomeMinor()))
+                .totalExpense(Money.toBigDecimal(balance.getExpenseMinor()))
+                .transactionCount(balance.getTransactionCount())
+                .version(balance.getVersion())
+                .updatedAt(balance.getUpdatedAt())
+                .build();
+    }
+
+    private final class Delta {
+
+        private long incomeMinor;
+        private long expenseMinor;
+        private long count;
+
+        void add(Transaction transaction, int sign) {
+            long minor = Money.toMinorUnits(transaction.getAmount()) * sign;
+            TransactionCategory category = transaction.getCategory();
+            String type = category != null ? category.getType() : null;
+            if ("income".equals(type)) {
+                incomeMinor += minor;
+            } else if ("expense".equals(type)) {
+                expenseMinor += minor;
+            }
+            count += sign;
+        }
+
+        void applyTo(UUID userId) {
+            userBalanceRepository.applyDelta(userId, incomeMinor, expenseMinor, count);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.BalanceDrift;
+import id.co.bankbsi.coinsight.transaction.dto.BalanceReconciliationReport;
+import id.co.bankbsi.coinsight.transaction.repository.UserBalanceRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks every user's ledger row against the raw transactions. Users are walked in keyset chunks
+ * and the chunks are checked in parallel. Each chunk is one statement, so the ledger and the
+ * recomputed totals come from the same snapshot and a concurrent write cannot show up as drift.
+ *
+ * <p>With {@code repair} on, a drifted ledger is overwritten only if its version is unchanged
+ * since the check; otherwise the next run looks at it again. Rows that partition retention
+ * moved to the archive schema are not visible to the check, so leave repair off when retention
+ * is enabled.
+ *
+ * <p>{@link #backfill(int)} runs repairing passes until nothing drifts, which creates the ledger
+ * rows of users who had transactions before the ledger existed.
+ */
+@Service
+@Slf4j
+public class BalanceReconciliationService {
+
+    private static final long RECONCILIATION_LOCK_KEY = 0x62616c616e6365L;
+
+    private static final String FIRST_USERS = "SELECT id FROM users ORDER BY id LIMIT ?";
+    private static final String NEXT_USERS = "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    // Runs against the primary: outside a read-only transaction, so it is never routed to a lagging replica
+    private static final String CHECK_CHUNK =
+            "SELECT u.id AS user_id, b.user_id IS NOT NULL AS has_ledger, " +
+            "COALESCE(b.income_minor, 0) AS ledger_income, COALESCE(b.expense_minor, 0) AS ledger_expense, " +
+            "COALESCE(b.transaction_count, 0) AS ledger_count, COALESCE(b.version, 0) AS ledger_version, " +
+            "COALESCE(a.income_minor, 0) AS actual_income, COALESCE(a.expense_minor, 0) AS actual_expense, " +
+            "COALESCE(a.transaction_count, 0) AS actual_count " +
+            "FROM unnest(?) AS u(id) " +
+            "LEFT JOIN user_balances b ON b.user_id = u.id " +
+            "LEFT JOIN (" +
+            "  SELECT t.user_id, " +
+            "  CAST(SUM(CASE WHEN c.type = 'income' THEN t.amount ELSE 0 END) * 100 AS BIGINT) AS income_minor, " +
+            "  CAST(SUM(CASE WHEN c.type = 'expense' THEN t.amount ELSE 0 END) * 100 AS BIGINT) AS expense_minor, " +
+            "  COUNT(*) AS transaction_count " +
+            "  FROM transactions t LEFT JOIN transaction_categories c ON c.id = t.category_id " +
+            "  WHERE t.user_id = ANY(?) GROUP BY t.user_id" +
+            ") a ON a.user_id = u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserBalanceRepository userBalanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final boolean repair;
+    private final int maxReportedDrifts;
+
+    private final AtomicLong lastDriftedUsers = new AtomicLong();
+    private final Timer runTimer;
+
+    public BalanceReconciliationService(
+            JdbcTemplate jdbcTemplate,
+            UserBalanceRepository userBalanceRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.balance.reconciliation.enabled:true}") boolean enabled,
+            @Value("${transaction.balance.reconciliation.chunk-size:1000}") int chunkSize,
+            @Value("${transaction.balance.reconciliation.parallelism:4}") int parallelism,
+            @Value("${transaction.balance.reconciliation.repair:false}") boolean repair,
+            @Value("${transaction.balance.reconciliation.max-reported-drifts:100}") int maxReportedDrifts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userBalanceRepository = userBalanceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.repair = repair;
+        this.maxReportedDrifts = maxReportedDrifts;
+
+        Gauge.builder("transaction.balance.reconciliation.drifted.users", lastDriftedUsers, AtomicLong::get)
+                .description("Users whose ledger disagreed with their transactions in the last reconciliation")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("transaction.balance.reconciliation.duration")
+                .description("Time taken by a full ledger reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${transaction.balance.reconciliation.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Balance reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    public BalanceReconciliationReport reconcile() {
+        return reconcile(repair);
+    }
+
+    /**
+     * Repairs until a pass finds no drift, at most {@code maxPasses} times. A write that races
+     * with a repair makes that user drift again, so the next pass picks them up.
+     */
+    public BalanceReconciliationReport backfill(int maxPasses) {
+        BalanceReconciliationReport report = reconcile(true);
+        for (int pass = 1; pass < maxPasses && (report.isSkipped() || report.getDriftedUsers() > 0); pass++) {
+            log.info("Balance backfill pass {} repaired {} of {} drifted ledgers",
+                    pass, report.getRepairedUsers(), report.getDriftedUsers());
+            report = reconcile(true);
+        }
+        return report;
+    }
+
+    private BalanceReconciliationReport reconcile(boolean repair) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        // The advisory lock lives as long as this transaction, so only one instance reconciles at a time
+        return transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RECONCILIATION_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("Balance reconciliation already running on another instance, skipping");
+                return BalanceReconciliationReport.builder()
+                        .startedAt(startedAt)
+                        .skipped(true)
+                        .drifts(List.of())
+                        .build();
+            }
+            return runTimer.record(() -> checkAllUsers(startedAt, repair));
+        });
+    }
+
+    private BalanceReconciliationReport checkAllUsers(LocalDateTime startedAt, boolean repair) {
+        long start = System.nanoTime();
+        List<Future<ChunkResult>> pending = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<UUID> chunk = jdbcTemplate.queryForList(FIRST_USERS, UUID.class, chunkSize);
+            while (!chunk.isEmpty()) {
+                List<UUID> users = chunk;
+                pending.add(executor.submit(() -> checkChunk(users, repair)));
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                chunk = jdbcTemplate.queryForList(NEXT_USERS, UUID.class, chunk.get(chunk.size() - 1), chunkSize);
+            }
+
+            long checked = 0;
+            long drifted = 0;
+            long repaired = 0;
+            List<BalanceDrift> reported = new ArrayList<>();
+            for (Future<ChunkResult> future : pending) {
+                ChunkResult result = future.get();
+                checked += result.checked();
+                drifted += result.drifts().size();
+                for (BalanceDrift drift : result.drifts()) {
+                    if (drift.isRepaired()) {
+                        repaired++;
+                    }
+                    if (reported.size() < maxReportedDrifts) {
+                        reported.add(drift);
+                    }
+                }
+            }
+
+            lastDriftedUsers.set(drifted);
+            long durationMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            if (drifted > 0) {
+                log.warn("Balance reconciliation found {} drifted ledgers out of {} users ({} repaired) in {} ms",
+                        drifted, checked, repaired, durationMs);
+            } else {
+                log.info("Balance reconciliation checked {} users in {} ms, no drift", checked, durationMs);
+            }
+            return BalanceReconciliationReport.builder()
+                    .startedAt(startedAt)
+                    .durationMs(durationMs)
+                    .checkedUsers(checked)
+                    .driftedUsers(drifted)
+                    .repairedUsers(repaired)
+                    .drifts(reported)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Balance reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Balance reconciliation chunk failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ChunkResult checkChunk(List<UUID> users, boolean repair) {
+        List<Mismatch> mismatches = new ArrayList<>();
+        jdbcTemplate.query(CHECK_CHUNK, ps -> {
+            Array ids = ps.getConnection().createArrayOf("uuid", users.toArray());
+            ps.setArray(1, ids);
+            ps.setArray(2, ids);
+        }, rs -> {
+            Mismatch mismatch = new Mismatch(
+                    rs.getObject("user_id", UUID.class),
+                    rs.getBoolean("has_ledger"),
+                    rs.getLong("ledger_version"),
+                    rs.getLong("ledger_income"), rs.getLong("actual_income"),
+                    rs.getLong("ledger_expense"), rs.getLong("actual_expense"),
+                    rs.getLong("ledger_count"), rs.getLong("actual_count"));
+            if (mismatch.drifted()) {
+                mismatches.add(mismatch);
+            }
+        });
+
+        // Repairs run after the check's result set is closed so a worker holds one connection at a time
+        List<BalanceDrift> drifts = new ArrayList<>(mismatches.size());
+        for (Mismatch m : mismatches) {
+            boolean repaired = false;
+            if (repair) {
+                repaired = m.hasLedger()
+                        ? repairLedger(m.userId(), m.ledgerVersion(), m.actualIncome(), m.actualExpense(), m.actualCount())
+                        : createLedger(m.userId(), m.actualIncome(), m.actualExpense(), m.actualCount());
+            }
+            drifts.add(BalanceDrift.builder()
+                    .userId(m.userId())
+                    .ledgerIncome(Money.toBigDecimal(m.ledgerIncome()))
+                    .actualIncome(Money.toBigDecimal(m.actualIncome()))
+                    .ledgerExpense(Money.toBigDecimal(m.ledgerExpense()))
+                    .actualExpense(Money.toBigDecimal(m.actualExpense()))
+                    .ledgerCount(m.ledgerCount())
+                    .actualCount(m.actualCount())
+                    .repaired(repaired)
+                    .build());
+        }
+        return new ChunkResult(users.size(), drifts);
+    }
+
+    private boolean repairLedger(UUID userId, long version, long income, long expense, long count) {
+        Integer updated = transactionTemplate.execute(status ->
+                userBalanceRepository.overwriteIfVersion(userId, version, income, expense, count));
+        return updated != null && updated == 1;
+    }
+
+    private boolean createLedger(UUID userId, long income, long expense, long count) {
+        Integer inserted = transactionTemplate.execute(status ->
+                userBalanceRepository.insertIfMissing(userId, income, expense, count));
+        return inserted != null && inserted == 1;
+    }
+
+    private record ChunkResult(long checked, List<BalanceDrift> drifts) {
+    }
+
+    private record Mismatch(
+            UUID userId, boolean hasLedger, long ledgerVersion,
+            long ledgerIncome, long actualIncome,
+            long ledgerExpense, long actualExpense,
+            long ledgerCount, long actualCount) {
+
+        boolean drifted() {
+            return ledgerIncome != actualIncome || ledgerExpense != actualExpense || ledgerCount != actualCount;
+        }
+    }
+}
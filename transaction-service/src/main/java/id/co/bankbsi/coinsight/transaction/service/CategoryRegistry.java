@@ -0,0 +1,143 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.TransactionCategoryDto;
+import id.co.bankbsi.coinsight.transaction.exception.CategoryNotFoundException;
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionCategoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory copy of transaction_categories. The table is tiny and practically static, so it is
+ * loaded once into an id-indexed array and swapped atomically on {@link #refresh()}. Readers never
+ * touch the database.
+ *
+ * <p>A refresh only reaches the replica that runs it, so every replica also reloads on a timer;
+ * an edit, whether refreshed on one node or made directly in the table, is served everywhere
+ * within {@code reload-interval-ms}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryRegistry {
+
+    private final TransactionCategoryRepository categoryRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @PostConstruct
+    public void refresh() {
+        Snapshot loaded = load();
+        log.info("Category registry loaded {} categories (etag {})", loaded.all.size(), loaded.etag);
+    }
+
+    @Scheduled(
+            initialDelayString = "${transaction.categories.reload-interval-ms:300000}",
+            fixedDelayString = "${transaction.categories.reload-interval-ms:300000}")
+    public void reload() {
+        String previous = snapshot.etag;
+        Snapshot loaded = load();
+        if (!loaded.etag.equals(previous)) {
+            log.info("Category registry reloaded {} categories (etag {})", loaded.all.size(), loaded.etag);
+        }
+    }
+
+    private Snapshot load() {
+        // The category region and its cached findAll would otherwise hide edits made directly in the table
+        entityManagerFactory.getCache().evict(TransactionCategory.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        Snapshot loaded = Snapshot.of(categoryRepository.findAll());
+        snapshot = loaded;
+        return loaded;
+    }
+
+    public TransactionCategory getRequired(Integer id) {
+        TransactionCategory category = find(id);
+        if (category == null) {
+            throw new CategoryNotFoundException("Category not found with id: " + id);
+        }
+        return category;
+    }
+
+    public TransactionCategory find(Integer id) {
+        Snapshot current = snapshot;
+        if (id == null || id < 0 || id >= current.categories.length) {
+            return null;
+        }
+        return current.categories[id];
+    }
+
+    public TransactionCategoryDto findDto(Integer id) {
+        Snapshot current = snapshot;
+        if (id == null || id < 0 || id >= current.dtos.length) {
+            return null;
+        }
+        return current.dtos[id];
+    }
+
+    /**
+     * Upper bound (exclusive) of the category ids currently loaded, for sizing id-indexed arrays.
+     */
+    public int capacity() {
+        return snapshot.categories.length;
+    }
+
+    public List<TransactionCategoryDto> getAll() {
+        return snapshot.all;
+    }
+
+    public String getETag() {
+        return snapshot.etag;
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new TransactionCategory[0], new TransactionCategoryDto[0], List.of(), "\"0\"");
+
+        final TransactionCategory[] categories;
+        final TransactionCategoryDto[] dtos;
+        final List<TransactionCategoryDto> all;
+        final String etag;
+
+        private Snapshot(TransactionCategory[] categories, TransactionCategoryDto[] dtos,
+                         List<TransactionCategoryDto> all, String etag) {
+            this.categories = categories;
+            this.dtos = dtos;
+            this.all = all;
+            this.etag = etag;
+        }
+
+        static Snapshot of(List<TransactionCategory> loaded) {
+            int maxId = loaded.stream().mapToInt(TransactionCategory::getId).max().orElse(-1);
+            TransactionCategory[] categories = new TransactionCategory[maxId + 1];
+            TransactionCategoryDto[] dtos = new TransactionCategoryDto[maxId + 1];
+
+            for (TransactionCategory category : loaded) {
+                categories[category.getId()] = category;
+                dtos[category.getId()] = TransactionCategoryDto.builder()
+                        .id(category.getId())
+                        .name(category.getName())
+                        .type(category.getType())
+                        .build();
+            }
+
+            List<TransactionCategoryDto> all = loaded.stream()
+                    .sorted(Comparator.comparing(TransactionCategory::getId))
+                    .map(category -> dtos[category.getId()])
+                    .toList();
+
+            // Content-derived, so every replica serving the same table hands out the same tag
+            String etag = "\"" + Integer.toHexString(all.hashCode()) + "\"";
+            return new Snapshot(categories, dtos, all, etag);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Per-category sums in {@link Money} minor units, indexed by category id. Category ids are small
+ * and dense (see {@link CategoryRegistry}), so adding a row is an array update with no hashing or
+ * boxing. Totals are split by category type while accumulating and only turned into
+ * name-keyed {@link BigDecimal} maps when the response is built.
+ */
+public final class CategoryTotals {
+
+    private static final byte TYPE_UNRESOLVED = 0;
+    private static final byte TYPE_INCOME = 1;
+    private static final byte TYPE_EXPENSE = 2;
+    private static final byte TYPE_IGNORED = 3;
+
+    private final long[] sums;
+    private final boolean[] present;
+    // Category type per id, resolved on first use so later rows skip the lookup and string compare
+    private final byte[] types;
+    private long totalIncome;
+    private long totalExpense;
+
+    public CategoryTotals(int capacity) {
+        this.sums = new long[capacity];
+        this.present = new boolean[capacity];
+        this.types = new byte[capacity];
+    }
+
+    /**
+     * Adds an amount to its category. Rows with an unknown category or a type other than
+     * income/expense are ignored, as they were when totals were merged by name.
+     */
+    public void add(int categoryId, long minorUnits, IntFunction<TransactionCategory> categories) {
+        if (categoryId < 0 || categoryId >= sums.length) {
+            return;
+        }
+        byte type = types[categoryId];
+        if (type == TYPE_UNRESOLVED) {
+            type = resolveType(categories.apply(categoryId));
+            types[categoryId] = type;
+        }
+        if (type == TYPE_INCOME) {
+            totalIncome = Math.addExact(totalIncome, minorUnits);
+        } else if (type == TYPE_EXPENSE) {
+            totalExpense = Math.addExact(totalExpense, minorUnits);
+        } else {
+            return;
+        }
+        sums[categoryId] = Math.addExact(sums[categoryId], minorUnits);
+        present[categoryId] = true;
+    }
+
+    private static byte resolveType(TransactionCategory category) {
+        if (category == null) {
+            return TYPE_IGNORED;
+        }
+        if ("income".equals(category.getType())) {
+            return TYPE_INCOME;
+        }
+        if ("expense".equals(category.getType())) {
+            return TYPE_EXPENSE;
+        }
+        return TYPE_IGNORED;
+    }
+
+    public long getTotalIncome() {
+        return totalIncome;
+    }
+
+    public long getTotalExpense() {
+        return totalExpense;
+    }
+
+    public Map<String, BigDecimal> byCategoryName(String type, IntFunction<TransactionCategory> categories) {
+        // Categories are unique by name, but merge anyway so a duplicate can never drop an amount
+        Map<String, Long> minorByName = new HashMap<>();
+        for (int id = 0; id < sums.length; id++) {
+            if (!present[id]) {
+                continue;
+            }
+            TransactionCategory category = categories.apply(id);
+            if (category != null && type.equals(category.getType())) {
+                minorByName.merge(category.getName(), sums[id], Math::addExact);
+            }
+        }
+        Map<String, BigDecimal> result = new HashMap<>(minorByName.size() * 2);
+        minorByName.forEach((name, minorUnits) -> result.put(name, Money.toBigDecimal(minorUnits)));
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.exception.GroupCommitTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Collects items submitted concurrently and commits them in batches from a single flusher
+ * thread. A batch closes when it holds {@code maxBatchSize} items or {@code maxDelay} after its
+ * first item arrived; with a zero delay only items that queued up while the previous batch was
+ * committing are grouped, so an idle system adds no latency.
+ *
+ * <p>When a batch fails, its items are committed again one at a time, so each caller gets its
+ * own outcome; retries stop after {@code retryBudget} and the remaining items fail uncommitted.
+ * When the queue is full, or after {@link #close()}, callers commit their own item on their own
+ * thread.
+ *
+ * <p>Callers wait at most {@code timeout} for their batch to start. An item still queued at that
+ * point is withdrawn, so it is never committed and the caller can safely retry. An item whose
+ * batch is already committing is waited for up to twice {@code timeout} more, room for the batch
+ * and its retries when both run under a transaction timeout of that length; a caller still
+ * waiting after that is told the row may have been created.
+ */
+final class GroupCommitBuffer<T> implements AutoCloseable {
+
+    private static final long IDLE_POLL_MS = 100;
+
+    private final BlockingQueue<Pending<T>> queue;
+    private final Consumer<List<T>> commit;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long retryBudgetNanos;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    GroupCommitBuffer(String name, Consumer<List<T>> commit, int maxBatchSize, Duration maxDelay, int queueCapacity,
+                      Duration retryBudget) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.commit = commit;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.retryBudgetNanos = retryBudget.toNanos();
+        this.flusher = new Thread(this::run, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Blocks until the batch holding {@code item} has committed, and rethrows the failure that
+     * item alone caused, if any.
+     *
+     * @throws GroupCommitTimeoutException if no batch picked the item up within {@code timeout},
+     *                                     its batch did not finish in time, or the caller was
+     *                                     interrupted; the message says whether the row may exist
+     */
+    void submit(T item, Duration timeout) {
+        Pending<T> pending = new Pending<>(item);
+        if (!running || !queue.offer(pending)) {
+            commit.accept(List.of(item));
+            return;
+        }
+        // Lost the race with close(): the flusher may already have exited without seeing this item
+        if (!running && queue.remove(pending)) {
+            commit.accept(List.of(item));
+            return;
+        }
+        try {
+            try {
+                pending.future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (pending.withdraw()) {
+                    throw new GroupCommitTimeoutException("Timed out waiting for a group commit; the transaction was not created");
+                }
+                try {
+                    pending.future.get(2 * timeout.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException committing) {
+                    throw new GroupCommitTimeoutException("Timed out waiting for a group commit; the transaction may have been created");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GroupCommitTimeoutException(pending.withdraw()
+                    ? "Interrupted waiting for a group commit; the transaction was not created"
+                    : "Interrupted waiting for a group commit; the transaction may have been created");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending<T> first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flush(batch);
+            for (Pending<T> abandoned = queue.poll(); abandoned != null; abandoned = queue.poll()) {
+                abandoned.future.completeExceptionally(new IllegalStateException("Group commit flusher interrupted"));
+            }
+        }
+    }
+
+    private void collect(List<Pending<T>> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Pending<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        // Callers that gave up while queued are dropped; the rest can no longer withdraw
+        batch.removeIf(pending -> !pending.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            items.add(pending.item);
+        }
+        try {
+            commit.accept(items);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            long deadline = System.nanoTime() + retryBudgetNanos;
+            for (Pending<T> pending : batch) {
+                if (System.nanoTime() - deadline >= 0) {
+                    pending.future.completeExceptionally(new GroupCommitTimeoutException(
+                            "Group commit failed and was not retried in time; the transaction was not created"));
+                    continue;
+                }
+                try {
+                    commit.accept(List.of(pending.item));
+                    pending.future.complete(null);
+                } catch (RuntimeException single) {
+                    pending.future.completeExceptionally(single);
+                }
+            }
+            return;
+        }
+        for (Pending<T> pending : batch) {
+            pending.future.complete(null);
+        }
+    }
+
+    /**
+     * Stops accepting items and waits for everything already queued to commit.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        flusher.join();
+    }
+
+    private static final class Pending<T> {
+
+        private static final int QUEUED = 0;
+        private static final int CLAIMED = 1;
+        private static final int WITHDRAWN = 2;
+
+        private final T item;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        Pending(T item) {
+            this.item = item;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        boolean withdraw() {
+            return state.compareAndSet(QUEUED, WITHDRAWN);
+        }
+    }
+}
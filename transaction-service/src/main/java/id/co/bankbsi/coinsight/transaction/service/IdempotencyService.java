@@ -0,0 +1,171 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionResponse;
+import id.co.bankbsi.coinsight.transaction.exception.InvalidIdempotencyKeyException;
+import id.co.bankbsi.coinsight.transaction.model.IdempotencyKeyId;
+import id.co.bankbsi.coinsight.transaction.model.IdempotencyRecord;
+import id.co.bankbsi.coinsight.transaction.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates transaction creation on the client-supplied {@code Idempotency-Key}.
+ *
+ * <p>The key is claimed in the same database transaction that creates the row, on the
+ * (user_id, idempotency_key) primary key, so a retry either replays the stored response or,
+ * if the first attempt rolled back, runs the write itself. Recently completed keys are also
+ * kept in a bounded in-memory cache so most retries never reach the database. Keys expire
+ * after {@code ttl} and are then free to be reused.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Cache<IdempotencyKeyId, TransactionResponse> recentResponses;
+
+    private final AtomicLong storeSize = new AtomicLong();
+    private final Counter cacheHits;
+    private final Counter storeHits;
+    private final Counter misses;
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.idempotency.ttl:24h}") Duration ttl,
+            @Value("${transaction.idempotency.cache-max-size:10000}") long cacheMaxSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.cacheHits = requestCounter(meterRegistry, "cache_hit");
+        this.storeHits = requestCounter(meterRegistry, "store_hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        Gauge.builder("transaction.idempotency.cache.size", recentResponses, Cache::estimatedSize)
+                .description("Idempotency keys held in the in-memory recent-key cache")
+                .register(meterRegistry);
+        Gauge.builder("transaction.idempotency.store.size", storeSize, AtomicLong::get)
+                .description("Rows in transaction_idempotency_keys as of the last cleanup")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("transaction.idempotency.requests")
+                .description("Create requests carrying an Idempotency-Key, by how they were resolved")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code create} once per (user, key) within the TTL and returns its response; later
+     * calls with the same key get the original response back. A {@code null} key bypasses
+     * deduplication entirely.
+     */
+    public TransactionResponse execute(UUID userId, String idempotencyKey, Supplier<TransactionResponse> create) {
+        if (idempotencyKey == null) {
+            return create.get();
+        }
+        validate(idempotencyKey);
+
+        IdempotencyKeyId id = new IdempotencyKeyId(userId, idempotencyKey);
+        TransactionResponse cached = recentResponses.getIfPresent(id);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        TransactionResponse response = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (idempotencyRecordRepository.claim(userId, idempotencyKey, now, now.plus(ttl)) == 0) {
+                storeHits.increment();
+                return replay(id);
+            }
+            misses.increment();
+            TransactionResponse created = create.get();
+            IdempotencyRecord record = idempotencyRecordRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Claimed idempotency key disappeared: " + idempotencyKey));
+            record.setTransactionId(created.getId());
+            record.setResponse(toJson(created));
+            return created;
+        });
+
+        // Only cache once the claim has committed; a rolled-back create must stay retryable
+        recentResponses.put(id, response);
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transaction.idempotency.cleanup-cron:0 */10 * * * *}")
+    public void purgeExpired() {
+        try {
+            int deleted = transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+            storeSize.set(idempotencyRecordRepository.count());
+            if (deleted > 0) {
+                log.info("Purged {} expired idempotency keys, {} remaining", deleted, storeSize.get());
+            }
+        } catch (RuntimeException e) {
+            log.error("Idempotency key cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private void validate(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private TransactionResponse replay(IdempotencyKeyId id) {
+        IdempotencyRecord record = idempotencyRecordRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Idempotency key not found after conflict: " + id));
+        if (record.getResponse() == null) {
+            // Cannot happen once the claiming transaction has committed, which the conflict waits for
+            throw new IllegalStateException("Idempotency key has no stored response: " + id);
+        }
+        try {
+            return objectMapper.readValue(record.getResponse(), TransactionResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored idempotent response", e);
+        }
+    }
+
+    private String toJson(TransactionResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point helpers for amounts held as {@code long} minor units (scale 2, matching the
+ * {@code DECIMAL(12,2)} amount column). Aggregation works on minor units and only converts to
+ * {@link BigDecimal} at the API boundary.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Rounds half up, as Postgres does when it stores the amount in the scale-2 column, so the
+     * result matches the stored value.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
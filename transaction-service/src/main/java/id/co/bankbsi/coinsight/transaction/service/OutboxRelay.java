@@ -0,0 +1,165 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.events.TransactionDeletedEvent;
+import id.co.bankbsi.coinsight.transaction.model.OutboxEvent;
+import id.co.bankbsi.coinsight.transaction.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains transaction_outbox to Kafka in batches. Each cycle claims rows, sends them, waits for
+ * the broker acks and deletes the rows in the same transaction, so a failed send leaves them in
+ * place for the next cycle (at-least-once delivery).
+ *
+ * <p>Rows are split into {@code buckets} by a hash of their message key, and a bucket is drained
+ * under a Postgres advisory lock, in id order. Several instances can relay at once, each on
+ * different buckets, while all events of one user go through a single relay in the order they
+ * committed (see {@link OutboxService}); a failed batch blocks the rest of its bucket until it
+ * is retried, so later events of the same user never overtake it.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "transaction.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            TransactionCreatedEvent.class.getSimpleName(), TransactionCreatedEvent.class,
+            TransactionDeletedEvent.class.getSimpleName(), TransactionDeletedEvent.class);
+
+    // Two-key advisory lock space: (this class id, bucket)
+    private static final int OUTBOX_LOCK_CLASS = 0x6f757462;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int buckets;
+    private final long sendTimeoutMs;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary batchSizeSummary;
+    private final Timer sendTimer;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            JdbcTemplate jdbcTemplate,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.outbox.batch-size:500}") int batchSize,
+            @Value("${transaction.outbox.relay.buckets:16}") int buckets,
+            @Value("${transaction.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.buckets = buckets;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        Gauge.builder("transaction.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest outbox row claimed by this instance in the last relay cycle")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("transaction.outbox.batch.size")
+                .description("Outbox rows published per relay cycle")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("transaction.outbox.send.latency")
+                .description("Time from first send until every event of a batch is acknowledged")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.outbox.poll-interval-ms:200}")
+    public void relay() {
+        long oldestMillis = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            try {
+                // Keep draining while batches come back full so a backlog clears without waiting for the next tick
+                BatchResult result;
+                do {
+                    result = publishBatch(bucket);
+                    oldestMillis = Math.max(oldestMillis, result.oldestAgeMillis());
+                } while (result.published() == batchSize);
+            } catch (RuntimeException e) {
+                log.error("Outbox relay failed for bucket {}, rows will be retried: {}", bucket, e.getMessage());
+            }
+        }
+        lagMillis.set(oldestMillis);
+    }
+
+    private BatchResult publishBatch(int bucket) {
+        BatchResult result = transactionTemplate.execute(status -> {
+            // Held to the end of this transaction; another instance already on this bucket means skip it
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?, ?)", Boolean.class, OUTBOX_LOCK_CLASS, bucket);
+            if (!Boolean.TRUE.equals(locked)) {
+                return BatchResult.EMPTY;
+            }
+            List<OutboxEvent> batch = outboxEventRepository.claimBatch(bucket, buckets, batchSize);
+            if (batch.isEmpty()) {
+                return BatchResult.EMPTY;
+            }
+            long ageMillis = Math.max(0, Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+            long start = System.nanoTime();
+            List<CompletableFuture<?>> acks = new ArrayList<>(batch.size());
+            for (OutboxEvent outboxEvent : batch) {
+                acks.add(kafkaTemplate.send(outboxEvent.getTopic(), outboxEvent.getMessageKey(), deserialize(outboxEvent)));
+            }
+            try {
+                CompletableFuture.allOf(acks.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+            }
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+
+            outboxEventRepository.deleteAllInBatch(batch);
+            return new BatchResult(batch.size(), ageMillis);
+        });
+        return result != null ? result : BatchResult.EMPTY;
+    }
+
+    private Object deserialize(OutboxEvent outboxEvent) {
+        Class<?> type = EVENT_TYPES.get(outboxEvent.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type: " + outboxEvent.getEventType());
+        }
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), type);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read outbox event " + outboxEvent.getId(), e);
+        }
+    }
+
+    private record BatchResult(int published, long oldestAgeMillis) {
+
+        static final BatchResult EMPTY = new BatchResult(0, 0);
+    }
+}
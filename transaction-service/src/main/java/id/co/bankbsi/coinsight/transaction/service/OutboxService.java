@@ -0,0 +1,81 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.events.TransactionDeletedEvent;
+import id.co.bankbsi.coinsight.transaction.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records domain events in transaction_outbox as part of the caller's transaction. Nothing
+ * is sent to Kafka here; {@link OutboxRelay} publishes the rows after they commit.
+ *
+ * <p>The relay publishes each user's events in id order, so ids must follow commit order per
+ * user. Rows are therefore inserted with plain JDBC and take their id from the sequence at
+ * insert time, not from a block reserved earlier, and callers enqueue only after the user's
+ * ledger upsert: that row lock is held to commit, so a later write by the same user cannot draw
+ * an id until this one has committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String TRANSACTIONS_TOPIC = "transactions";
+
+    private static final String INSERT_EVENT = "INSERT INTO transaction_outbox " +
+            "(aggregate_id, message_key, topic, event_type, payload) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(TransactionCreatedEvent event) {
+        insert(List.of(toOutboxEvent(event)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(TransactionDeletedEvent event) {
+        insert(List.of(toOutboxEvent(event.getId(), event.getUserId(), event)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<TransactionCreatedEvent> events) {
+        insert(events.stream().map(this::toOutboxEvent).toList());
+    }
+
+    private void insert(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getAggregateId());
+            ps.setString(2, event.getMessageKey());
+            ps.setString(3, event.getTopic());
+            ps.setString(4, event.getEventType());
+            ps.setString(5, event.getPayload());
+        });
+    }
+
+    private OutboxEvent toOutboxEvent(TransactionCreatedEvent event) {
+        return toOutboxEvent(event.getId(), event.getUserId(), event);
+    }
+
+    private OutboxEvent toOutboxEvent(String transactionId, String userId, Object event) {
+        try {
+            return OutboxEvent.builder()
+                    .aggregateId(UUID.fromString(transactionId))
+                    .topic(TRANSACTIONS_TOPIC)
+                    .messageKey(userId)
+                    .eventType(event.getClass().getSimpleName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event for transaction " + transactionId, e);
+        }
+    }
+}
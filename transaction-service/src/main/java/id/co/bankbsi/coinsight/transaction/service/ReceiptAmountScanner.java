@@ -0,0 +1,319 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Finds the amount paid in OCR receipt text in a single pass over the characters, without regex,
+ * intermediate strings or exceptions.
+ *
+ * <p>Lines are classified by keyword: a grand total ("grand total", "total belanja", "total
+ * bayar", ...) beats a plain "total"/"jumlah", which beats a subtotal. Lines that only look like
+ * totals (item counts, discounts, tax) are skipped. The last amount on the chosen line is used,
+ * and among lines of the same rank the last one wins, since receipts print the final figure last.
+ *
+ * <p>Amounts follow Indonesian conventions: {@code .} groups thousands and {@code ,} marks
+ * decimals ({@code Rp 1.250.000,00}). A lone separator followed by exactly three digits is read
+ * as a thousands separator, so {@code 50.000} is fifty thousand rupiah. The English form
+ * {@code 1,250,000.00} is also understood. Tokens with broken digit grouping, such as dates, are
+ * ignored.
+ */
+public final class ReceiptAmountScanner {
+
+    private static final int RANK_NONE = 0;
+    private static final int RANK_SUBTOTAL = 1;
+    private static final int RANK_JUMLAH = 2;
+    private static final int RANK_TOTAL = 3;
+    private static final int RANK_GRAND_TOTAL = 4;
+
+    // Set on top of the rank when the line carries a currency marker (Rp / IDR)
+    private static final int CURRENCY_FLAG = 1 << 8;
+    private static final int RANK_MASK = CURRENCY_FLAG - 1;
+
+    // Integer digits beyond this cannot come from a DECIMAL(12,2) amount
+    private static final int MAX_INTEGER_DIGITS = 13;
+
+    private static final Result NOT_FOUND = new Result(BigDecimal.valueOf(0, Money.SCALE), 0.0);
+
+    private ReceiptAmountScanner() {
+    }
+
+    /**
+     * @param amount     the detected amount, {@code 0.00} when none was found
+     * @param confidence 0 when nothing was found, up to 1 for an unambiguous grand total
+     */
+    public record Result(BigDecimal amount, double confidence) {
+
+        public boolean found() {
+            return confidence > 0;
+        }
+    }
+
+    public static Result scan(String text) {
+        if (text == null || text.isEmpty()) {
+            return NOT_FOUND;
+        }
+
+        int bestRank = RANK_NONE;
+        long bestAmount = 0;
+        boolean bestHasCurrency = false;
+        boolean conflicting = false;
+
+        int length = text.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+
+            int classified = classifyLine(text, lineStart, lineEnd);
+            int rank = classified & RANK_MASK;
+            if (rank != RANK_NONE && rank >= bestRank) {
+                long amount = lastAmount(text, lineStart, lineEnd);
+                if (amount >= 0) {
+                    if (rank > bestRank) {
+                        conflicting = false;
+                    } else if (amount != bestAmount) {
+                        conflicting = true;
+                    }
+                    bestRank = rank;
+                    bestAmount = amount;
+                    bestHasCurrency = (classified & CURRENCY_FLAG) != 0;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        if (bestRank == RANK_NONE) {
+            return NOT_FOUND;
+        }
+        return new Result(Money.toBigDecimal(bestAmount), confidence(bestRank, conflicting, bestHasCurrency));
+    }
+
+    private static double confidence(int rank, boolean conflicting, boolean hasCurrency) {
+        double confidence = switch (rank) {
+            case RANK_GRAND_TOTAL -> 0.95;
+            case RANK_TOTAL -> 0.85;
+            case RANK_JUMLAH -> 0.7;
+            default -> 0.45;
+        };
+        if (conflicting) {
+            // Several same-rank lines disagree; the last one is usually right, but not always
+            confidence -= 0.2;
+        }
+        if (hasCurrency) {
+            confidence += 0.05;
+        }
+        return Math.max(0.05, Math.min(1.0, confidence));
+    }
+
+    /**
+     * Ranks a line by the keywords it contains, looking only at word starts and dispatching on the
+     * first letter so each character is inspected about once. Ignored words (item counts,
+     * discounts, tax, loyalty points) veto the line unless it names a grand total.
+     */
+    private static int classifyLine(String text, int start, int end) {
+        boolean grandTotal = false;
+        boolean ignored = false;
+        boolean subtotal = false;
+        boolean total = false;
+        boolean jumlah = false;
+        int currency = 0;
+
+        for (int i = start; i < end; i++) {
+            if (i > start && isLetter(text.charAt(i - 1))) {
+                continue;
+            }
+            switch (lower(text.charAt(i))) {
+                case 'g' -> grandTotal |= matches(text, i, end, "grand total");
+                case 't' -> {
+                    if (matches(text, i, end, "total")) {
+                        total = true;
+                        grandTotal |= matches(text, i, end, "total belanja")
+                                || matches(text, i, end, "total bayar")
+                                || matches(text, i, end, "total pembayaran")
+                                || matches(text, i, end, "total tagihan")
+                                || matches(text, i, end, "total harga");
+                    } else {
+                        ignored |= matches(text, i, end, "tax");
+                    }
+                }
+                case 's' -> subtotal |= matches(text, i, end, "subtotal")
+                        || matches(text, i, end, "sub total")
+                        || matches(text, i, end, "sub-total");
+                case 'j' -> jumlah |= matches(text, i, end, "jumlah");
+                case 'i' -> {
+                    if (matches(text, i, end, "idr")) {
+                        currency = CURRENCY_FLAG;
+                    } else {
+                        ignored |= matches(text, i, end, "item");
+                    }
+                }
+                case 'r' -> {
+                    if (matches(text, i, end, "rp")) {
+                        currency = CURRENCY_FLAG;
+                    }
+                }
+                case 'q' -> ignored |= matches(text, i, end, "qty");
+                case 'd' -> ignored |= matches(text, i, end, "disc") || matches(text, i, end, "diskon");
+                case 'h' -> ignored |= matches(text, i, end, "hemat");
+                case 'p' -> ignored |= matches(text, i, end, "ppn")
+                        || matches(text, i, end, "pajak")
+                        || matches(text, i, end, "poin");
+                default -> {
+                }
+            }
+        }
+
+        int rank;
+        if (grandTotal) {
+            rank = RANK_GRAND_TOTAL;
+        } else if (ignored) {
+            rank = RANK_NONE;
+        } else if (subtotal) {
+            rank = RANK_SUBTOTAL;
+        } else if (total) {
+            rank = RANK_TOTAL;
+        } else if (jumlah) {
+            rank = RANK_JUMLAH;
+        } else {
+            rank = RANK_NONE;
+        }
+        return rank | currency;
+    }
+
+    /**
+     * ASCII case-insensitive match of a lower-case {@code keyword} at {@code offset}.
+     */
+    private static boolean matches(String text, int offset, int end, String keyword) {
+        if (end - offset < keyword.length()) {
+            return false;
+        }
+        for (int k = 0; k < keyword.length(); k++) {
+            if (lower(text.charAt(offset + k)) != keyword.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static boolean isLetter(char c) {
+        char lower = lower(c);
+        return lower >= 'a' && lower <= 'z';
+    }
+
+    /**
+     * Minor units of the last well-formed amount in {@code [start, end)}, or -1 if there is none.
+     */
+    private static long lastAmount(String text, int start, int end) {
+        long last = -1;
+        int i = start;
+        while (i < end) {
+            if (!isDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int tokenStart = i;
+            // A separator only continues the token when another digit follows it
+            while (i < end && (isDigit(text.charAt(i))
+                    || (isSeparator(text.charAt(i)) && i + 1 < end && isDigit(text.charAt(i + 1))))) {
+                i++;
+            }
+            if (i < end && text.charAt(i) == '%') {
+                continue;
+            }
+            long amount = parseAmount(text, tokenStart, i);
+            if (amount >= 0) {
+                last = amount;
+            }
+        }
+        return last;
+    }
+
+    private static long parseAmount(String text, int start, int end) {
+        int dots = 0;
+        int commas = 0;
+        int lastDot = -1;
+        int lastComma = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                dots++;
+                lastDot = i;
+            } else if (c == ',') {
+                commas++;
+                lastComma = i;
+            }
+        }
+
+        int decimalAt = -1;
+        char groupSeparator = 0;
+        if (dots > 0 && commas > 0) {
+            decimalAt = Math.max(lastDot, lastComma);
+            groupSeparator = decimalAt == lastDot ? ',' : '.';
+            if ((decimalAt == lastDot ? dots : commas) > 1 || end - decimalAt - 1 > Money.SCALE) {
+                return -1;
+            }
+        } else if (dots + commas == 1) {
+            int separatorAt = dots == 1 ? lastDot : lastComma;
+            int digitsAfter = end - separatorAt - 1;
+            if (digitsAfter == 3) {
+                groupSeparator = text.charAt(separatorAt);
+            } else if (digitsAfter <= Money.SCALE) {
+                decimalAt = separatorAt;
+            } else {
+                return -1;
+            }
+        } else if (dots + commas > 1) {
+            groupSeparator = dots > 0 ? '.' : ',';
+        }
+
+        int integerEnd = decimalAt >= 0 ? decimalAt : end;
+        long integerPart = 0;
+        int integerDigits = 0;
+        int groupDigits = 0;
+        boolean grouped = false;
+        for (int i = start; i < integerEnd; i++) {
+            char c = text.charAt(i);
+            if (c == groupSeparator) {
+                // Leading group is 1-3 digits, every later group exactly 3
+                if ((grouped && groupDigits != 3) || groupDigits == 0 || groupDigits > 3) {
+                    return -1;
+                }
+                grouped = true;
+                groupDigits = 0;
+                continue;
+            }
+            integerPart = integerPart * 10 + (c - '0');
+            integerDigits++;
+            groupDigits++;
+        }
+        if ((grouped && groupDigits != 3) || integerDigits > MAX_INTEGER_DIGITS) {
+            return -1;
+        }
+
+        long fraction = 0;
+        if (decimalAt >= 0) {
+            int fractionDigits = end - decimalAt - 1;
+            for (int i = decimalAt + 1; i < end; i++) {
+                fraction = fraction * 10 + (text.charAt(i) - '0');
+            }
+            if (fractionDigits == 1) {
+                fraction *= 10;
+            }
+        }
+        return integerPart * 100 + fraction;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ',';
+    }
+}
@@ -0,0 +1,287 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.transaction.config.KafkaConfig;
+import id.co.bankbsi.coinsight.transaction.dto.MerchantEstimate;
+import id.co.bankbsi.coinsight.transaction.dto.SpendPercentilesResponse;
+import id.co.bankbsi.coinsight.transaction.dto.TopMerchantsResponse;
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import id.co.bankbsi.coinsight.transaction.repository.projection.CategorySpendProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.datasketches.frequencies.ErrorType;
+import org.apache.datasketches.frequencies.ItemsSketch;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Approximate, fixed-memory spending analytics: the most frequent merchants per month (overall or
+ * per category) and percentiles of single-transaction amounts per category and month. Every
+ * replica folds all partitions of the transactions topic into its own {@link SpendingSketchStore},
+ * without a consumer group, so queries are answered from memory on any node. Consumed offsets are
+ * kept only in the snapshot below; nothing is committed to Kafka and restarts leave no groups
+ * behind.
+ *
+ * <p>The store is snapshotted to disk together with the offsets it has consumed. On start the
+ * snapshot is loaded and each partition resumes right after its recorded offset; without a
+ * snapshot the topic is replayed from the beginning of its retention. Records at or before a
+ * recorded offset are skipped, so a replay never counts an event twice.
+ *
+ * <p>Sketches only grow: a deleted transaction stays counted. Merchants are taken from the
+ * transaction description, which is what the events carry.
+ */
+@Service
+@Slf4j
+public class SpendingAnalyticsService implements ConsumerSeekAware {
+
+    private static final double[] PERCENTILE_RANKS = {0.50, 0.75, 0.90, 0.99};
+
+    // Descriptions the OCR path falls back to; they name no merchant
+    private static final Set<String> GENERIC_DESCRIPTIONS = Set.of("ocr transaction", "ocr transaction from receipt");
+
+    private final SpendingSketchStore store;
+    private final CategoryRegistry categoryRegistry;
+    private final TransactionRollupService rollupService;
+    private final Path snapshotPath;
+    private final int merchantMapSize;
+    private final int maxTopMerchants;
+    private final Counter eventsCounted;
+    private final Counter eventsSkipped;
+    private boolean dirty;
+
+    public SpendingAnalyticsService(
+            CategoryRegistry categoryRegistry,
+            TransactionRollupService rollupService,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.analytics.merchant-map-size:256}") int merchantMapSize,
+            @Value("${transaction.analytics.kll-k:200}") int kllK,
+            @Value("${transaction.analytics.retention-months:13}") int retentionMonths,
+            @Value("${transaction.analytics.max-top-merchants:50}") int maxTopMerchants,
+            @Value("${transaction.analytics.snapshot-path:/tmp/coinsight/spending-sketches.bin}") String snapshotPath) {
+        this.store = new SpendingSketchStore(merchantMapSize, kllK, retentionMonths);
+        this.categoryRegistry = categoryRegistry;
+        this.rollupService = rollupService;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.merchantMapSize = merchantMapSize;
+        this.maxTopMerchants = maxTopMerchants;
+        this.eventsCounted = eventCounter(meterRegistry, "counted");
+        this.eventsSkipped = eventCounter(meterRegistry, "skipped");
+        loadSnapshot();
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("transaction.analytics.events")
+                .description("Transaction events seen by the spending sketches, by whether they were counted")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topicPartitions = @org.springframework.kafka.annotation.TopicPartition(
+                    topic = OutboxService.TRANSACTIONS_TOPIC, partitions = KafkaConfig.ALL_PARTITIONS),
+            containerFactory = "broadcastListenerContainerFactory",
+            autoStartup = "${transaction.analytics.enabled:true}")
+    public void onTransactionEvent(ConsumerRecord<String, Object> record) {
+        synchronized (store) {
+            if (!store.advance(record.partition(), record.offset())) {
+                eventsSkipped.increment();
+                return;
+            }
+            dirty = true;
+            if (record.value() instanceof TransactionCreatedEvent created
+                    && created.getAmount() != null
+                    && created.getCategoryId() != null
+                    && created.getTransactionDate() != null) {
+                store.add(YearMonth.from(created.getTransactionDate()), created.getCategoryId(),
+                        merchantOf(created.getDescription()), created.getAmount().doubleValue());
+                eventsCounted.increment();
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        synchronized (store) {
+            for (TopicPartition partition : assignments.keySet()) {
+                Long offset = store.offset(partition.partition());
+                if (offset != null) {
+                    callback.seek(partition.topic(), partition.partition(), offset + 1);
+                } else {
+                    callback.seekToBeginning(partition.topic(), partition.partition());
+                }
+            }
+        }
+    }
+
+    public TopMerchantsResponse topMerchants(YearMonth month, Integer categoryId, int limit) {
+        if (categoryId != null) {
+            categoryRegistry.getRequired(categoryId);
+        }
+        limit = Math.min(Math.max(limit, 1), maxTopMerchants);
+
+        TopMerchantsResponse.TopMerchantsResponseBuilder response = TopMerchantsResponse.builder()
+                .month(month.toString())
+                .categoryId(categoryId);
+        List<MerchantEstimate> merchants = new ArrayList<>(limit);
+        synchronized (store) {
+            ItemsSketch<String> sketch = store.merchants(month,
+                    categoryId != null ? categoryId : SpendingSketchStore.ALL_CATEGORIES);
+            if (sketch != null) {
+                // Rows come back sorted by estimate; no merchant that could be in the top N is left out
+                for (ItemsSketch.Row<String> row : sketch.getFrequentItems(ErrorType.NO_FALSE_NEGATIVES)) {
+                    if (merchants.size() == limit) {
+                        break;
+                    }
+                    merchants.add(MerchantEstimate.builder()
+                            .merchant(row.getItem())
+                            .estimate(row.getEstimate())
+                            .lowerBound(row.getLowerBound())
+                            .upperBound(row.getUpperBound())
+                            .build());
+                }
+                response.streamLength(sketch.getStreamLength())
+                        .maximumError(sketch.getMaximumError())
+                        .epsilon(ItemsSketch.getEpsilon(merchantMapSize));
+            }
+        }
+        return response.merchants(merchants).build();
+    }
+
+    public SpendPercentilesResponse spendPercentiles(UUID userId, YearMonth month, Integer categoryId) {
+        TransactionCategory category = categoryRegistry.getRequired(categoryId);
+        CategorySpendProjection userSpend = rollupService.getCategorySpend(
+                userId, categoryId, month.atDay(1), month.atEndOfMonth());
+        long userCount = userSpend.getTransactionCount() != null ? userSpend.getTransactionCount() : 0L;
+        BigDecimal userAverage = userCount > 0
+                ? userSpend.getTotalAmount().divide(BigDecimal.valueOf(userCount), Money.SCALE, RoundingMode.HALF_UP)
+                : null;
+
+        SpendPercentilesResponse.SpendPercentilesResponseBuilder response = SpendPercentilesResponse.builder()
+                .month(month.toString())
+                .categoryId(categoryId)
+                .categoryName(category.getName())
+                .userTransactionCount(userCount)
+                .userAverageAmount(userAverage);
+        synchronized (store) {
+            KllDoublesSketch amounts = store.amounts(month, categoryId);
+            if (amounts != null && !amounts.isEmpty()) {
+                double[] quantiles = amounts.getQuantiles(PERCENTILE_RANKS);
+                response.sampleCount(amounts.getN())
+                        .rankError(amounts.getNormalizedRankError(false))
+                        .p50(toAmount(quantiles[0]))
+                        .p75(toAmount(quantiles[1]))
+                        .p90(toAmount(quantiles[2]))
+                        .p99(toAmount(quantiles[3]));
+                if (userAverage != null) {
+                    response.userPercentileRank(amounts.getRank(userAverage.doubleValue()));
+                }
+            }
+        }
+        return response.build();
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.analytics.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        byte[] bytes;
+        synchronized (store) {
+            if (!dirty) {
+                return;
+            }
+            store.evictExpired();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(buffer)) {
+                store.writeTo(out);
+            } catch (IOException e) {
+                log.error("Failed to serialize spending sketches: {}", e.getMessage());
+                return;
+            }
+            bytes = buffer.toByteArray();
+            dirty = false;
+        }
+        try {
+            writeSnapshot(bytes);
+        } catch (IOException e) {
+            synchronized (store) {
+                dirty = true;
+            }
+            log.error("Failed to write spending sketch snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    private void writeSnapshot(byte[] bytes) throws IOException {
+        Path directory = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // Written aside and moved into place, so a crash mid-write never leaves a torn snapshot
+        Path temp = Files.createTempFile(directory, snapshotPath.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                out.write(bytes);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            log.info("No spending sketch snapshot at {}, replaying the transactions topic", snapshotPath);
+            return;
+        }
+        try (InputStream file = Files.newInputStream(snapshotPath);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            synchronized (store) {
+                store.readFrom(in);
+            }
+            log.info("Loaded spending sketch snapshot from {}", snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            // A half-read store would double count on replay, so start over from an empty one
+            synchronized (store) {
+                store.clear();
+            }
+            log.warn("Ignoring unreadable spending sketch snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private static String merchantOf(String description) {
+        String merchant = SpendingSketchStore.normalizeMerchant(description);
+        return merchant != null && !GENERIC_DESCRIPTIONS.contains(merchant) ? merchant : null;
+    }
+
+    private static BigDecimal toAmount(double value) {
+        return BigDecimal.valueOf(value).setScale(Money.SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,202 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import org.apache.datasketches.common.ArrayOfStringsSerDe;
+import org.apache.datasketches.frequencies.ItemsSketch;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.memory.Memory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Monthly sketches of transaction traffic: a frequent-items (Misra-Gries) sketch of merchants
+ * overall and per category, and a KLL sketch of amounts per category. Memory per month is fixed
+ * by {@code merchantMapSize} and {@code kllK}, whatever the number of users or transactions.
+ *
+ * <p>Also tracks the last consumed offset of every topic partition, so a snapshot pairs the
+ * sketches with exactly the events they contain. Not thread-safe; the owner serializes access.
+ */
+final class SpendingSketchStore {
+
+    static final int ALL_CATEGORIES = 0;
+
+    private static final int SNAPSHOT_MAGIC = 0x53504b31;
+    private static final ArrayOfStringsSerDe SERDE = new ArrayOfStringsSerDe();
+    private static final int MAX_MERCHANT_LENGTH = 64;
+
+    private final int merchantMapSize;
+    private final int kllK;
+    private final int retentionMonths;
+    private final TreeMap<YearMonth, MonthSketches> months = new TreeMap<>();
+    private final Map<Integer, Long> offsets = new HashMap<>();
+
+    SpendingSketchStore(int merchantMapSize, int kllK, int retentionMonths) {
+        this.merchantMapSize = merchantMapSize;
+        this.kllK = kllK;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Moves the partition's position past {@code offset}; returns false when that record was
+     * already folded in before the last snapshot and must not be counted again.
+     */
+    boolean advance(int partition, long offset) {
+        Long last = offsets.get(partition);
+        if (last != null && offset <= last) {
+            return false;
+        }
+        offsets.put(partition, offset);
+        return true;
+    }
+
+    void add(YearMonth month, int categoryId, String merchant, double amount) {
+        if (month.isBefore(YearMonth.now().minusMonths(retentionMonths - 1L))) {
+            return;
+        }
+        MonthSketches sketches = months.computeIfAbsent(month, m -> new MonthSketches());
+        CategorySketches category = sketches.categories.computeIfAbsent(categoryId, id -> newCategorySketches());
+        category.amounts.update(amount);
+        if (merchant != null) {
+            category.merchants.update(merchant);
+            sketches.merchants.update(merchant);
+        }
+    }
+
+    Long offset(int partition) {
+        return offsets.get(partition);
+    }
+
+    ItemsSketch<String> merchants(YearMonth month, int categoryId) {
+        MonthSketches sketches = months.get(month);
+        if (sketches == null) {
+            return null;
+        }
+        if (categoryId == ALL_CATEGORIES) {
+            return sketches.merchants;
+        }
+        CategorySketches category = sketches.categories.get(categoryId);
+        return category != null ? category.merchants : null;
+    }
+
+    KllDoublesSketch amounts(YearMonth month, int categoryId) {
+        MonthSketches sketches = months.get(month);
+        CategorySketches category = sketches != null ? sketches.categories.get(categoryId) : null;
+        return category != null ? category.amounts : null;
+    }
+
+    void clear() {
+        offsets.clear();
+        months.clear();
+    }
+
+    void evictExpired() {
+        months.headMap(YearMonth.now().minusMonths(retentionMonths - 1L)).clear();
+    }
+
+    /**
+     * Lower-cased, whitespace-collapsed description with reference-number tokens (anything without
+     * a letter) dropped, so "Indomaret  #1234" and "INDOMARET" count as one merchant.
+     */
+    static String normalizeMerchant(String description) {
+        if (description == null) {
+            return null;
+        }
+        StringBuilder merchant = new StringBuilder(Math.min(description.length(), MAX_MERCHANT_LENGTH));
+        for (String token : description.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (token.chars().noneMatch(Character::isLetter)) {
+                continue;
+            }
+            if (merchant.length() + token.length() + 1 > MAX_MERCHANT_LENGTH) {
+                break;
+            }
+            if (!merchant.isEmpty()) {
+                merchant.append(' ');
+            }
+            merchant.append(token);
+        }
+        return merchant.isEmpty() ? null : merchant.toString();
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(offsets.size());
+        for (Map.Entry<Integer, Long> offset : offsets.entrySet()) {
+            out.writeInt(offset.getKey());
+            out.writeLong(offset.getValue());
+        }
+        out.writeInt(months.size());
+        for (Map.Entry<YearMonth, MonthSketches> month : months.entrySet()) {
+            out.writeInt(month.getKey().getYear());
+            out.writeByte(month.getKey().getMonthValue());
+            writeBytes(out, month.getValue().merchants.toByteArray(SERDE));
+            out.writeInt(month.getValue().categories.size());
+            for (Map.Entry<Integer, CategorySketches> category : month.getValue().categories.entrySet()) {
+                out.writeInt(category.getKey());
+                writeBytes(out, category.getValue().merchants.toByteArray(SERDE));
+                writeBytes(out, category.getValue().amounts.toByteArray());
+            }
+        }
+    }
+
+    void readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a spending sketch snapshot");
+        }
+        clear();
+        int offsetCount = in.readInt();
+        for (int i = 0; i < offsetCount; i++) {
+            offsets.put(in.readInt(), in.readLong());
+        }
+        int monthCount = in.readInt();
+        for (int i = 0; i < monthCount; i++) {
+            YearMonth month = YearMonth.of(in.readInt(), in.readByte());
+            MonthSketches sketches = new MonthSketches(ItemsSketch.getInstance(Memory.wrap(readBytes(in)), SERDE));
+            int categoryCount = in.readInt();
+            for (int c = 0; c < categoryCount; c++) {
+                int categoryId = in.readInt();
+                ItemsSketch<String> merchants = ItemsSketch.getInstance(Memory.wrap(readBytes(in)), SERDE);
+                KllDoublesSketch amounts = KllDoublesSketch.heapify(Memory.wrap(readBytes(in)));
+                sketches.categories.put(categoryId, new CategorySketches(merchants, amounts));
+            }
+            months.put(month, sketches);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private CategorySketches newCategorySketches() {
+        return new CategorySketches(new ItemsSketch<>(merchantMapSize), KllDoublesSketch.newHeapInstance(kllK));
+    }
+
+    private final class MonthSketches {
+
+        private final ItemsSketch<String> merchants;
+        private final Map<Integer, CategorySketches> categories = new HashMap<>();
+
+        MonthSketches() {
+            this(new ItemsSketch<>(merchantMapSize));
+        }
+
+        MonthSketches(ItemsSketch<String> merchants) {
+            this.merchants = merchants;
+        }
+    }
+
+    private record CategorySketches(ItemsSketch<String> merchants, KllDoublesSketch amounts) {
+    }
+}
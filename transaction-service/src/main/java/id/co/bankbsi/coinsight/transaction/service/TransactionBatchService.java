@@ -0,0 +1,217 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.transaction.dto.BatchItemResult;
+import id.co.bankbsi.coinsight.transaction.dto.BatchTransactionResponse;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionRequest;
+import id.co.bankbsi.coinsight.transaction.exception.BatchTooLargeException;
+import id.co.bankbsi.coinsight.transaction.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk ingest path for partners syncing history. Rows are validated up front, then
+ * persisted in fixed-size chunks, each in its own transaction, so Hibernate can send
+ * them as JDBC batches (see hibernate.jdbc.batch_size). A failing chunk only rolls back
+ * its own rows; everything else in the request still commits.
+ */
+@Service
+@Slf4j
+public class TransactionBatchService {
+
+    private static final Comparator<Transaction> LOCK_ORDER = Comparator
+            .comparing(Transaction::getUserId)
+            .thenComparing(transaction -> transaction.getTransactionDate().toLocalDate())
+            .thenComparing(transaction -> transaction.getCategory().getId());
+
+    private final CategoryRegistry categoryRegistry;
+    private final TransactionRollupService rollupService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final OutboxService outboxService;
+    private final TransactionSummaryCache summaryCache;
+    private final TransactionWatermarks watermarks;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxItems;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TransactionBatchService(
+            CategoryRegistry categoryRegistry,
+            TransactionRollupService rollupService,
+            BalanceLedgerService balanceLedgerService,
+            OutboxService outboxService,
+            TransactionSummaryCache summaryCache,
+            TransactionWatermarks watermarks,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            @Value("${transaction.batch.chunk-size:500}") int chunkSize,
+            @Value("${transaction.batch.max-items:5000}") int maxItems) {
+        this.categoryRegistry = categoryRegistry;
+        this.rollupService = rollupService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.outboxService = outboxService;
+        this.summaryCache = summaryCache;
+        this.watermarks = watermarks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public BatchTransactionResponse createTransactions(UUID userId, List<TransactionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return BatchTransactionResponse.builder()
+                    .results(List.of())
+                    .build();
+        }
+        if (requests.size() > maxItems) {
+            throw new BatchTooLargeException("Batch size " + requests.size() + " exceeds limit of " + maxItems);
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> pendingIndexes = new ArrayList<>(chunkSize);
+        List<Transaction> pending = new ArrayList<>(chunkSize);
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = failure(i, error);
+                continue;
+            }
+
+            pendingIndexes.add(i);
+            pending.add(Transaction.builder()
+                    .id(UUID.randomUUID())
+                    .userId(userId)
+                    .amount(request.getAmount())
+                    .category(categoryRegistry.find(request.getCategoryId()))
+                    .description(request.getDescription())
+                    .transactionDate(request.getTransactionDate() != null ? request.getTransactionDate() : LocalDateTime.now())
+                    .build());
+
+            if (pending.size() == chunkSize) {
+                persistChunk(pendingIndexes, pending, results);
+                pendingIndexes = new ArrayList<>(chunkSize);
+                pending = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!pending.isEmpty()) {
+            persistChunk(pendingIndexes, pending, results);
+        }
+
+        int succeeded = (int) Arrays.stream(results).filter(BatchItemResult::isSuccess).count();
+        if (succeeded > 0) {
+            summaryCache.invalidate(userId);
+            watermarks.invalidate(userId);
+        }
+        log.info("Batch of {} transactions processed for user {}: {} succeeded, {} failed",
+                requests.size(), userId, succeeded, requests.size() - succeeded);
+
+        return BatchTransactionResponse.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private void persistChunk(List<Integer> indexes, List<Transaction> chunk, BatchItemResult[] results) {
+        try {
+            persist(chunk);
+        } catch (RuntimeException e) {
+            log.warn("Batch chunk of {} transactions rolled back: {}", chunk.size(), e.getMessage());
+            for (Integer index : indexes) {
+                results[index] = failure(index, "Chunk rolled back: " + e.getMessage());
+            }
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            results[indexes.get(i)] = BatchItemResult.builder()
+                    .index(indexes.get(i))
+                    .success(true)
+                    .transactionId(chunk.get(i).getId())
+                    .build();
+        }
+    }
+
+    /**
+     * Inserts the rows, rollups, ledger updates and outbox events in one transaction. Rows are
+     * written in {@link #LOCK_ORDER}, so concurrent batches and group commits take rollup and
+     * ledger row locks in the same order. Events go last, once the ledger row locks are held,
+     * which keeps outbox ids in commit order per user.
+     */
+    void persist(List<Transaction> chunk) {
+        List<Transaction> transactions = new ArrayList<>(chunk);
+        transactions.sort(LOCK_ORDER);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Transaction transaction : transactions) {
+                entityManager.persist(transaction);
+            }
+            entityManager.flush();
+            rollupService.recordCreated(transactions);
+            balanceLedgerService.recordCreated(transactions);
+            outboxService.enqueueAll(transactions.stream().map(this::toCreatedEvent).toList());
+            entityManager.clear();
+        });
+    }
+
+    private String validate(TransactionRequest request) {
+        if (request == null) {
+            return "Transaction is required";
+        }
+        // The same constraints a single create gets from @Valid
+        Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (categoryRegistry.find(request.getCategoryId()) == null) {
+            return "Category not found with id: " + request.getCategoryId();
+        }
+        return null;
+    }
+
+    private BatchItemResult failure(int index, String error) {
+        return BatchItemResult.builder()
+                .index(index)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private TransactionCreatedEvent toCreatedEvent(Transaction transaction) {
+        return new TransactionCreatedEvent(
+                transaction.getId().toString(),
+                transaction.getUserId().toString(),
+                transaction.getAmount(),
+                transaction.getCategory().getId(),
+                transaction.getCategory().getName(),
+                transaction.getCategory().getType(),
+                transaction.getDescription(),
+                transaction.getTransactionDate()
+        );
+    }
+}
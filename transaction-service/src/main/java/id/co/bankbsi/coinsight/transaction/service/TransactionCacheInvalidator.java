@@ -0,0 +1,51 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.events.TransactionDeletedEvent;
+import id.co.bankbsi.coinsight.transaction.config.KafkaConfig;
+import id.co.bankbsi.coinsight.transaction.model.Transaction;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Keeps this node's caches in line with writes made anywhere. Every replica reads all partitions
+ * of the transactions topic, without a consumer group, from the moment it starts; once the outbox
+ * relay has published an event each node drops the user's summaries and change watermark and, for
+ * deletes, the second-level cache entry the writing node already evicted locally. Events published
+ * while a node was down do not matter: its caches started empty.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionCacheInvalidator {
+
+    private final TransactionSummaryCache summaryCache;
+    private final TransactionWatermarks watermarks;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = OutboxService.TRANSACTIONS_TOPIC, partitions = KafkaConfig.ALL_PARTITIONS),
+            containerFactory = "broadcastListenerContainerFactory")
+    public void onTransactionEvent(Object event) {
+        String userId = null;
+        if (event instanceof TransactionCreatedEvent created) {
+            userId = created.getUserId();
+        } else if (event instanceof TransactionDeletedEvent deleted) {
+            userId = deleted.getUserId();
+            entityManagerFactory.getCache().evict(Transaction.class, UUID.fromString(deleted.getId()));
+        }
+        if (userId == null) {
+            log.warn("Ignoring transaction event without user id: {}", event);
+            return;
+        }
+        UUID user = UUID.fromString(userId);
+        summaryCache.invalidate(user);
+        watermarks.invalidate(user);
+    }
+}
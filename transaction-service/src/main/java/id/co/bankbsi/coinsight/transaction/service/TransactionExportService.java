@@ -0,0 +1,203 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams a user's transactions straight from a server-side JDBC cursor to the response.
+ * Rows are read {@code fetch-size} at a time and written out immediately, never mapped to
+ * entities or DTOs, so memory use does not grow with the size of the history.
+ */
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String CSV_HEADER = "id,transaction_date,amount,category,type,description\n";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CategoryRegistry categoryRegistry;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public TransactionExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            CategoryRegistry categoryRegistry,
+            @Value("${transaction.export.fetch-size:500}") int fetchSize) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    public void export(UUID userId, LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out)
+            throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, transaction_date, amount, category_id, description FROM transactions WHERE user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (startDate != null) {
+            sql.append(" AND transaction_date >= ?");
+            args.add(Timestamp.valueOf(startDate.atStartOfDay()));
+        }
+        if (endDate != null) {
+            sql.append(" AND transaction_date <= ?");
+            args.add(Timestamp.valueOf(endDate.atTime(LocalTime.MAX)));
+        }
+        sql.append(" ORDER BY transaction_date DESC, id DESC");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        // The PostgreSQL driver only uses a server-side cursor (honouring fetch size) inside a transaction
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    cursorJdbcTemplate.query(sql.toString(), rs -> {
+                        try {
+                            rowWriter.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            // Client disconnected mid-download; the cursor was closed with the transaction
+            log.warn("Transaction export for user {} aborted: {}", userId, e.getCause().getMessage());
+            throw e.getCause();
+        }
+        rowWriter.finish();
+    }
+
+    private String categoryName(int categoryId) {
+        TransactionCategory category = categoryRegistry.find(categoryId);
+        return category != null ? category.getName() : null;
+    }
+
+    private String categoryType(int categoryId) {
+        TransactionCategory category = categoryRegistry.find(categoryId);
+        return category != null ? category.getType() : null;
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            int categoryId = rs.getInt("category_id");
+            Timestamp date = rs.getTimestamp("transaction_date");
+            BigDecimal amount = rs.getBigDecimal("amount");
+
+            writer.write(rs.getString("id"));
+            writer.write(',');
+            writer.write(date != null ? DATE_FORMAT.format(date.toLocalDateTime()) : "");
+            writer.write(',');
+            writer.write(amount.toPlainString());
+            writer.write(',');
+            writeField(categoryName(categoryId));
+            writer.write(',');
+            writeField(categoryType(categoryId));
+            writer.write(',');
+            writeField(rs.getString("description"));
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            int categoryId = rs.getInt("category_id");
+            Timestamp date = rs.getTimestamp("transaction_date");
+
+            generator.writeStartObject();
+            generator.writeStringField("id", rs.getString("id"));
+            generator.writeStringField("transactionDate", date != null ? DATE_FORMAT.format(date.toLocalDateTime()) : null);
+            generator.writeFieldName("amount");
+            generator.writeNumber(rs.getBigDecimal("amount"));
+            generator.writeStringField("category", categoryName(categoryId));
+            generator.writeStringField("type", categoryType(categoryId));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
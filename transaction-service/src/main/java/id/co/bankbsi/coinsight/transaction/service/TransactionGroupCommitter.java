@@ -0,0 +1,155 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.config.ReplicaRoutingDataSource;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionRequest;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionResponse;
+import id.co.bankbsi.coinsight.transaction.model.Transaction;
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opt-in create path for write spikes: single creates that arrive while a batch is committing
+ * (or within {@code max-delay}) are committed together, one transaction and one WAL flush per
+ * batch instead of per request. Each caller still blocks until its own row is durable and gets
+ * its own response or error.
+ *
+ * <p>Validation runs on the caller's thread before queueing, so a bad request never costs its
+ * batch a retry. The batch insert sorts rows by (user, day, category), so concurrent batches take
+ * rollup and ledger row locks in the same order.
+ *
+ * <p>A caller waits at most {@code wait-timeout} for its batch to start and gets a 503 if it
+ * did not, with nothing written. A started batch runs under a transaction timeout of the same
+ * length, as do the one-at-a-time retries after it fails, which stop after one more
+ * {@code wait-timeout}; past three times {@code wait-timeout} in all, the caller gets a 503 that
+ * says the row may have been created. Requests with an Idempotency-Key do not come through here:
+ * their key claim has to commit atomically with the row, in one transaction owned by the caller.
+ */
+@Service
+@Slf4j
+public class TransactionGroupCommitter implements DisposableBean {
+
+    private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final CategoryRegistry categoryRegistry;
+    private final TransactionSummaryCache summaryCache;
+    private final TransactionWatermarks watermarks;
+    private final ReplicaRoutingDataSource replicaRouting;
+    private final TransactionTemplate commitTemplate;
+    private final Duration waitTimeout;
+    private final GroupCommitBuffer<Transaction> buffer;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+
+    public TransactionGroupCommitter(
+            TransactionService transactionService,
+            TransactionBatchService transactionBatchService,
+            CategoryRegistry categoryRegistry,
+            TransactionSummaryCache summaryCache,
+            TransactionWatermarks watermarks,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.group-commit.enabled:false}") boolean enabled,
+            @Value("${transaction.group-commit.max-delay:0ms}") Duration maxDelay,
+            @Value("${transaction.group-commit.max-batch-size:200}") int maxBatchSize,
+            @Value("${transaction.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${transaction.group-commit.wait-timeout:5s}") Duration waitTimeout) {
+        this.transactionService = transactionService;
+        this.transactionBatchService = transactionBatchService;
+        this.categoryRegistry = categoryRegistry;
+        this.summaryCache = summaryCache;
+        this.watermarks = watermarks;
+        this.replicaRouting = replicaRouting(dataSource);
+        this.waitTimeout = waitTimeout;
+        this.commitTemplate = new TransactionTemplate(transactionManager);
+        this.commitTemplate.setTimeout((int) Math.max(1, waitTimeout.toSeconds()));
+        this.batchSizes = DistributionSummary.builder("transaction.group-commit.batch.size")
+                .description("Transactions committed together per group commit")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("transaction.group-commit.flush")
+                .description("Time taken to commit one group of transactions")
+                .register(meterRegistry);
+        this.buffer = enabled
+                ? new GroupCommitBuffer<>("transaction-group-commit", this::commit, maxBatchSize, maxDelay, queueCapacity, waitTimeout)
+                : null;
+        if (buffer != null) {
+            Gauge.builder("transaction.group-commit.queue.size", buffer, GroupCommitBuffer::pending)
+                    .description("Creates waiting for the next group commit")
+                    .register(meterRegistry);
+            log.info("Group commit enabled: max delay {}, max batch size {}", maxDelay, maxBatchSize);
+        }
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    public TransactionResponse createTransaction(UUID userId, TransactionRequest request) {
+        TransactionCategory category = categoryRegistry.getRequired(request.getCategoryId());
+        Transaction transaction = Transaction.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .amount(request.getAmount())
+                .category(category)
+                .description(request.getDescription())
+                .transactionDate(request.getTransactionDate() != null ? request.getTransactionDate() : LocalDateTime.now())
+                .build();
+
+        buffer.submit(transaction, waitTimeout);
+        return transactionService.mapToTransactionResponse(transaction, null);
+    }
+
+    private void commit(List<Transaction> transactions) {
+        // persist() joins this transaction, so the timeout covers the whole batch
+        flushTimer.record(() -> commitTemplate.executeWithoutResult(status -> transactionBatchService.persist(transactions)));
+        batchSizes.record(transactions.size());
+
+        Set<UUID> users = new LinkedHashSet<>();
+        for (Transaction transaction : transactions) {
+            users.add(transaction.getUserId());
+        }
+        for (UUID userId : users) {
+            summaryCache.invalidate(userId);
+            watermarks.invalidate(userId);
+            // The flusher thread has no authentication, so the router could not see whose write this was
+            if (replicaRouting != null) {
+                replicaRouting.recordWrite(userId.toString());
+            }
+        }
+    }
+
+    private static ReplicaRoutingDataSource replicaRouting(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ReplicaRoutingDataSource.class)
+                    ? dataSource.unwrap(ReplicaRoutingDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+}
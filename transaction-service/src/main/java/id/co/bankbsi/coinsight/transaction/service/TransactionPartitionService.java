@@ -0,0 +1,165 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manages the monthly range partitions of the transactions table: keeps partitions
+ * created ahead of the current month and, when retention is configured, detaches
+ * expired months (moving them to the archive schema) instead of deleting rows.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "transaction.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionPartitionService {
+
+    private static final String PARENT_TABLE = "transactions";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final long MAINTENANCE_LOCK_KEY = 0x7472616e73L;
+    private static final Pattern PARTITION_NAME = Pattern.compile("^transactions_p(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int monthsBehind;
+    private final int retentionMonths;
+    private final String archiveSchema;
+    private final Duration detachLockTimeout;
+
+    public TransactionPartitionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${transaction.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${transaction.partitioning.months-behind:12}") int monthsBehind,
+            @Value("${transaction.partitioning.retention-months:0}") int retentionMonths,
+            @Value("${transaction.partitioning.archive-schema:archive}") String archiveSchema,
+            @Value("${transaction.partitioning.detach-lock-timeout:5s}") Duration detachLockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.monthsBehind = monthsBehind;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+        this.detachLockTimeout = detachLockTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${transaction.partitioning.maintenance-cron:0 0 1 * * *}")
+    public void runMaintenance() {
+        ensurePartitions();
+        if (retentionMonths > 0) {
+            detachExpiredPartitions();
+        }
+    }
+
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (YearMonth month = current.minusMonths(monthsBehind);
+             !month.isAfter(current.plusMonths(monthsAhead));
+             month = month.plusMonths(1)) {
+            createPartitionIfMissing(month);
+        }
+    }
+
+    /**
+     * Detaches every monthly partition older than the retention window and moves it to the
+     * archive schema. Rollups for the detached months are dropped so summaries stay consistent.
+     *
+     * <p>Each partition is handled in its own transaction, so its detach, move and rollup delete
+     * commit together. DETACH takes an ACCESS EXCLUSIVE lock on transactions until that
+     * transaction commits, which blocks every read and write on the table for its duration, and
+     * DETACH CONCURRENTLY is not available while a default partition exists. To keep the window
+     * short each transaction does one partition only, and gives up after
+     * {@code detach-lock-timeout} rather than queueing behind long readers while holding up
+     * everyone behind it; a skipped partition is retried on the next run.
+     */
+    public void detachExpiredPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (String partition : findMonthlyPartitions()) {
+            YearMonth month = parseMonth(partition);
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> detach(partition, month)))) {
+                    log.info("Partition retention already running on another instance, skipping");
+                    return;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not detach partition {}, will retry on the next run: {}",
+                        partition, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private boolean detach(String partition, YearMonth month) {
+        // Only one replica detaches at a time; the lock is released when this transaction ends
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + detachLockTimeout.toMillis() + "ms'");
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+        int rollups = jdbcTemplate.update(
+                "DELETE FROM transaction_daily_rollups WHERE rollup_date >= ? AND rollup_date < ?",
+                month.atDay(1), month.plusMonths(1).atDay(1));
+        log.info("Archived partition {} to schema {} and removed {} rollup rows", partition, archiveSchema, rollups);
+        return true;
+    }
+
+    private void createPartitionIfMissing(YearMonth month) {
+        String partition = partitionName(month);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition +
+                    " PARTITION OF " + PARENT_TABLE +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        } catch (DataAccessException e) {
+            // Typically the default partition already holds rows for this month
+            log.warn("Could not create partition {}: {}", partition, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private List<String> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits i " +
+                        "JOIN pg_class parent ON parent.oid = i.inhparent " +
+                        "JOIN pg_class child ON child.oid = i.inhrelid " +
+                        "WHERE parent.relname = ? ORDER BY child.relname",
+                String.class, PARENT_TABLE);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    static YearMonth parseMonth(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
@@ -0,0 +1,106 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.model.Transaction;
+import id.co.bankbsi.coinsight.transaction.model.TransactionDailyRollup;
+import id.co.bankbsi.coinsight.transaction.model.TransactionDailyRollupId;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionDailyRollupRepository;
+import id.co.bankbsi.coinsight.transaction.repository.projection.CategorySpendProjection;
+import id.co.bankbsi.coinsight.transaction.repository.projection.CategoryTotalProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the per-user (day, category) totals that back the summary endpoint.
+ * Create/delete paths call into this service from inside their own transaction so
+ * the rollups and the raw rows always commit or roll back together.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionRollupService {
+
+    private final TransactionDailyRollupRepository rollupRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        rollupRepository.applyDelta(
+                transaction.getUserId(),
+                transaction.getTransactionDate().toLocalDate(),
+                transaction.getCategory().getId(),
+                transaction.getAmount(),
+                1);
+    }
+
+    /**
+     * Folds a batch of new rows into one upsert per (user, day, category) instead of one per row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Transaction> transactions) {
+        Map<TransactionDailyRollupId, TransactionDailyRollup> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            TransactionDailyRollupId key = new TransactionDailyRollupId(
+                    transaction.getUserId(),
+                    transaction.getTransactionDate().toLocalDate(),
+                    transaction.getCategory().getId());
+            TransactionDailyRollup delta = deltas.computeIfAbsent(key, id -> new TransactionDailyRollup(id, BigDecimal.ZERO, 0L));
+            delta.setTotalAmount(delta.getTotalAmount().add(transaction.getAmount()));
+            delta.setTransactionCount(delta.getTransactionCount() + 1);
+        }
+
+        for (TransactionDailyRollup delta : deltas.values()) {
+            rollupRepository.applyDelta(
+                    delta.getId().getUserId(),
+                    delta.getId().getRollupDate(),
+                    delta.getId().getCategoryId(),
+                    delta.getTotalAmount(),
+                    delta.getTransactionCount());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Transaction transaction) {
+        LocalDate rollupDate = transaction.getTransactionDate().toLocalDate();
+        Integer categoryId = transaction.getCategory().getId();
+
+        rollupRepository.applyDelta(
+                transaction.getUserId(),
+                rollupDate,
+                categoryId,
+                transaction.getAmount().negate(),
+                -1);
+        rollupRepository.deleteIfEmpty(transaction.getUserId(), rollupDate, categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryTotalProjection> getCategoryTotals(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.sumByCategory(userId, startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public CategorySpendProjection getCategorySpend(UUID userId, Integer categoryId, LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.sumForCategory(userId, categoryId, startDate, endDate);
+    }
+
+    /**
+     * Recomputes every rollup row from the raw transactions table. Writers are blocked
+     * for the duration so no create/delete can slip between the wipe and the re-insert.
+     */
+    @Transactional
+    public int rebuildAll() {
+        rollupRepository.lockTransactionsForRebuild();
+        int removed = rollupRepository.deleteAllRollups();
+        int inserted = rollupRepository.rebuildFromTransactions();
+        log.info("Rebuilt transaction rollups: {} rows removed, {} rows inserted", removed, inserted);
+        return inserted;
+    }
+}
@@ -0,0 +1,160 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.CursorPageResponse;
+import id.co.bankbsi.coinsight.transaction.dto.SearchCursor;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionResponse;
+import id.co.bankbsi.coinsight.transaction.exception.InvalidSearchQueryException;
+import id.co.bankbsi.coinsight.transaction.repository.projection.TransactionListProjection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search over a user's transactions. Descriptions are indexed on transactions and
+ * receipt text on transaction_receipts, each with its own (user_id, search_vector) GIN index;
+ * matches from both are unioned, so the cost follows the number of matching rows rather than the
+ * size of the history. Results are ranked with {@code ts_rank_cd} over description and receipt
+ * together and paged by keyset on (rank, transaction_date, id).
+ *
+ * <p>Queries use the {@code simple} text search configuration: receipts mix Indonesian and
+ * English, so words are matched as written (case-insensitively) rather than stemmed. The query
+ * accepts web-search syntax: quoted phrases, {@code or} and {@code -word}.
+ */
+@Service
+public class TransactionSearchService {
+
+    private static final String RANK =
+            "ts_rank_cd(t.search_vector || COALESCE(r.search_vector, ''::tsvector), q)";
+
+    // Parameters: query and user id for each branch of the union, then for the outer select
+    private static final String SEARCH_SELECT =
+            "WITH matches AS (" +
+            "SELECT id FROM transactions WHERE user_id = ? AND search_vector @@ websearch_to_tsquery('simple', ?) " +
+            "UNION " +
+            "SELECT transaction_id FROM transaction_receipts WHERE user_id = ? AND search_vector @@ websearch_to_tsquery('simple', ?)) " +
+            "SELECT t.id, t.user_id, t.amount, t.category_id, t.description, t.transaction_date, " +
+            "t.created_at, t.updated_at, " + RANK + " AS rank " +
+            "FROM matches m " +
+            "JOIN transactions t ON t.id = m.id " +
+            "LEFT JOIN transaction_receipts r ON r.transaction_id = t.id, " +
+            "websearch_to_tsquery('simple', ?) q " +
+            "WHERE t.user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionService transactionService;
+    private final int maxQueryLength;
+    private final int maxPageSize;
+
+    public TransactionSearchService(
+            JdbcTemplate jdbcTemplate,
+            TransactionService transactionService,
+            @Value("${transaction.search.max-query-length:200}") int maxQueryLength,
+            @Value("${transaction.search.max-page-size:100}") int maxPageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionService = transactionService;
+        this.maxQueryLength = maxQueryLength;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TransactionResponse> search(
+            UUID userId, String query, LocalDate startDate, LocalDate endDate, Integer categoryId,
+            String cursor, int size, boolean includeReceipt) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("Search query must not be empty");
+        }
+        if (query.length() > maxQueryLength) {
+            throw new InvalidSearchQueryException("Search query must be at most " + maxQueryLength + " characters");
+        }
+        size = Math.min(Math.max(size, 1), maxPageSize);
+
+        StringBuilder sql = new StringBuilder(SEARCH_SELECT);
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        args.add(query);
+        args.add(userId);
+        args.add(query);
+        args.add(query);
+        args.add(userId);
+        if (startDate != null) {
+            sql.append(" AND t.transaction_date >= ?");
+            args.add(Timestamp.valueOf(startDate.atStartOfDay()));
+        }
+        if (endDate != null) {
+            sql.append(" AND t.transaction_date <= ?");
+            args.add(Timestamp.valueOf(endDate.atTime(LocalTime.MAX)));
+        }
+        if (categoryId != null) {
+            sql.append(" AND t.category_id = ?");
+            args.add(categoryId);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            SearchCursor position = SearchCursor.decode(cursor);
+            // Every sort key is descending, so a single row comparison seeks past the cursor
+            sql.append(" AND (" + RANK + ", t.transaction_date, t.id) < (?, ?, ?)");
+            args.add(position.getRank());
+            args.add(Timestamp.valueOf(position.getTransactionDate()));
+            args.add(position.getId());
+        }
+        sql.append(" ORDER BY rank DESC, t.transaction_date DESC, t.id DESC LIMIT ?");
+        args.add(size + 1);
+
+        List<SearchRow> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new SearchRow(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getBigDecimal("amount"),
+                (Integer) rs.getObject("category_id"),
+                rs.getString("description"),
+                toLocalDateTime(rs.getTimestamp("transaction_date")),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at")),
+                rs.getFloat("rank")), args.toArray());
+
+        boolean last = rows.size() <= size;
+        List<SearchRow> page = last ? rows : rows.subList(0, size);
+
+        String nextCursor = null;
+        if (!last) {
+            SearchRow lastRow = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(lastRow.getRank(), lastRow.getTransactionDate(), lastRow.getId()).encode();
+        }
+
+        return CursorPageResponse.<TransactionResponse>builder()
+                .content(transactionService.mapToTransactionResponses(
+                        new ArrayList<TransactionListProjection>(page), includeReceipt))
+                .pageSize(size)
+                .nextCursor(nextCursor)
+                .last(last)
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class SearchRow implements TransactionListProjection {
+        private final UUID id;
+        private final UUID userId;
+        private final BigDecimal amount;
+        private final Integer categoryId;
+        private final String description;
+        private final LocalDateTime transactionDate;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final float rank;
+    }
+}
@@ -1,21 +1,24 @@
 package id.co.bankbsi.coinsight.transaction.service;
 
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import id.co.bankbsi.coinsight.events.TransactionDeletedEvent;
 import id.co.bankbsi.coinsight.transaction.dto.*;
-import id.co.bankbsi.coinsight.transaction.event.TransactionCreatedEvent;
-import id.co.bankbsi.coinsight.transaction.exception.CategoryNotFoundException;
 import id.co.bankbsi.coinsight.transaction.exception.TransactionNotFoundException;
 import id.co.bankbsi.coinsight.transaction.model.Transaction;
 import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
-import id.co.bankbsi.coinsight.transaction.repository.TransactionCategoryRepository;
+import id.co.bankbsi.coinsight.transaction.model.TransactionReceipt;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionReceiptRepository;
 import id.co.bankbsi.coinsight.transaction.repository.TransactionRepository;
+import id.co.bankbsi.coinsight.transaction.repository.projection.CategoryTotalProjection;
+import id.co.bankbsi.coinsight.transaction.repository.projection.TransactionListProjection;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
@@ -29,13 +32,39 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final TransactionCategoryRepository categoryRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionReceiptRepository receiptRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final TransactionRollupService rollupService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final OutboxService outboxService;
+    private final TransactionSummaryCache summaryCache;
+    private final TransactionWatermarks watermarks;
+    private final int maxPageSize;
+
+    public TransactionService(
+            TransactionRepository transactionRepository,
+            TransactionReceiptRepository receiptRepository,
+            CategoryRegistry categoryRegistry,
+            TransactionRollupService rollupService,
+            BalanceLedgerService balanceLedgerService,
+            OutboxService outboxService,
+            TransactionSummaryCache summaryCache,
+            TransactionWatermarks watermarks,
+            @Value("${transaction.pagination.max-page-size:100}") int maxPageSize) {
+        this.transactionRepository = transactionRepository;
+        this.receiptRepository = receiptRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.rollupService = rollupService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.outboxService = outboxService;
+        this.summaryCache = summaryCache;
+        this.watermarks = watermarks;
+        this.maxPageSize = maxPageSize;
+    }
 
     public UUID getCurrentUserId() {
         JwtAuthenticationToken authentication = (JwtAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
@@ -45,8 +74,7 @@ public class TransactionService {
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
         UUID userId = getCurrentUserId();
-        TransactionCategory category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + request.getCategoryId()));
+        TransactionCategory category = categoryRegistry.getRequired(request.getCategoryId());
         
         Transaction transaction = Transaction.builder()
                 .id(UUID.randomUUID())
@@ -58,54 +86,41 @@ public class TransactionService {
                 .build();
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        rollupService.recordCreated(savedTransaction);
+        balanceLedgerService.recordCreated(savedTransaction);
         
-        // Publish event to Kafka
+        // Recorded in the outbox within this transaction; OutboxRelay publishes it after commit
         TransactionCreatedEvent event = new TransactionCreatedEvent(
                 savedTransaction.getId().toString(),
                 userId.toString(),
                 savedTransaction.getAmount(),
+                category.getId(),
                 category.getName(),
                 category.getType(),
                 savedTransaction.getDescription(),
                 savedTransaction.getTransactionDate()
         );
-        kafkaTemplate.send("transactions", event);
+        outboxService.enqueue(event);
+        summaryCache.invalidateAfterCommit(userId);
+        watermarks.invalidateAfterCommit(userId);
         
         log.info("Transaction created: {}", savedTransaction.getId());
-        return mapToTransactionResponse(savedTransaction);
+        return mapToTransactionResponse(savedTransaction, null);
     }
 
     @Transactional
     public TransactionResponse createTransactionFromOCR(UUID userId, OCRTransactionRequest request) {
-        TransactionCategory category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + request.getCategoryId()));
+        TransactionCategory category = categoryRegistry.getRequired(request.getCategoryId());
         
-        // In a real application, you would parse the receipt text to extract amount, date, etc.
-        // For simplicity, we'll just create a transaction with dummy data here
-        BigDecimal amount = new BigDecimal("0.00");
         String description = "OCR Transaction";
         LocalDateTime transactionDate = LocalDateTime.now();
         
-        // Simple regex to extract amount (this is a very basic example)
         String receiptText = request.getReceiptText();
+        ReceiptAmountScanner.Result scanned = ReceiptAmountScanner.scan(receiptText);
+        BigDecimal amount = scanned.amount();
         if (receiptText != null) {
-            String[] lines = receiptText.split("\\n");
-            for (String line : lines) {
-                if (line.toLowerCase().contains("total")) {
-                    // Try to extract a number
-                    String[] parts = line.split("\\s+");
-                    for (String part : parts) {
-                        part = part.replaceAll("[^0-9.]", "");
-                        try {
-                            amount = new BigDecimal(part);
-                            break;
-                        } catch (NumberFormatException ignored) {
-                            // Not a valid number, continue
-                        }
-                    }
-                }
-            }
             description = "OCR Transaction from receipt";
+            log.info("Receipt amount {} detected with confidence {}", amount, scanned.confidence());
         }
         
         Transaction transaction = Transaction.builder()
@@ -114,26 +129,39 @@ public class TransactionService {
                 .amount(amount)
                 .category(category)
                 .description(description)
-                .receiptText(receiptText)
                 .transactionDate(transactionDate)
                 .build();
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        rollupService.recordCreated(savedTransaction);
+        balanceLedgerService.recordCreated(savedTransaction);
         
-        // Publish event to Kafka
+        // Receipt bodies live in transaction_receipts so the hot transactions row stays narrow
+        if (receiptText != null) {
+            receiptRepository.save(TransactionReceipt.builder()
+                    .transactionId(savedTransaction.getId())
+                    .userId(userId)
+                    .receiptText(receiptText)
+                    .build());
+        }
+        
+        // Recorded in the outbox within this transaction; OutboxRelay publishes it after commit
         TransactionCreatedEvent event = new TransactionCreatedEvent(
                 savedTransaction.getId().toString(),
                 userId.toString(),
                 savedTransaction.getAmount(),
+                category.getId(),
                 category.getName(),
                 category.getType(),
                 savedTransaction.getDescription(),
                 savedTransaction.getTransactionDate()
         );
-        kafkaTemplate.send("transactions", event);
+        outboxService.enqueue(event);
+        summaryCache.invalidateAfterCommit(userId);
+        watermarks.invalidateAfterCommit(userId);
         
         log.info("Transaction created from OCR: {}", savedTransaction.getId());
-        return mapToTransactionResponse(savedTransaction);
+        return mapToTransactionResponse(savedTransaction, receiptText);
     }
 
     @Transactional(readOnly = true)
@@ -148,19 +176,36 @@ public class TransactionService {
             throw new TransactionNotFoundException("Transaction not found with id: " + id);
         }
         
-        return mapToTransactionResponse(transaction);
+        String receiptText = receiptRepository.findById(id)
+                .map(TransactionReceipt::getReceiptText)
+                .orElse(null);
+        return mapToTransactionResponse(transaction, receiptText);
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<TransactionResponse> getAllTransactions(int page, int size) {
+    public ReceiptResponse getReceipt(UUID id) {
         UUID userId = getCurrentUserId();
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactions = transactionRepository.findByUserId(userId, pageable);
+        if (!transactionRepository.existsByIdAndUserId(id, userId)) {
+            throw new TransactionNotFoundException("Transaction not found with id: " + id);
+        }
         
-        List<TransactionResponse> transactionResponses = transactions.getContent().stream()
-                .map(this::mapToTransactionResponse)
-                .collect(Collectors.toList());
+        TransactionReceipt receipt = receiptRepository.findById(id)
+                .orElseThrow(() -> new TransactionNotFoundException("Receipt not found for transaction: " + id));
+        return ReceiptResponse.builder()
+                .transactionId(id)
+                .receiptText(receipt.getReceiptText())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<TransactionResponse> getAllTransactions(int page, int size, boolean includeReceipt) {
+        UUID userId = getCurrentUserId();
+        
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize(size), Sort.by("transactionDate").descending());
+        Page<TransactionListProjection> transactions = transactionRepository.findListByUserId(userId, pageable);
+        
+        List<TransactionResponse> transactionResponses = mapToTransactionResponses(transactions.getContent(), includeReceipt);
         
         return PageResponse.<TransactionResponse>builder()
                 .content(transactionResponses)
@@ -174,19 +219,17 @@ public class TransactionService {
 
     @Transactional(readOnly = true)
     public PageResponse<TransactionResponse> getTransactionsByDateRange(
-            LocalDate startDate, LocalDate endDate, int page, int size) {
+            LocalDate startDate, LocalDate endDate, int page, int size, boolean includeReceipt) {
         UUID userId = getCurrentUserId();
         
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.atTime(LocalTime.MAX);
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize(size), Sort.by("transactionDate").descending());
+        Page<TransactionListProjection> transactions = transactionRepository.findListByUserIdAndDateBetween(
                 userId, start, end, pageable);
         
-        List<TransactionResponse> transactionResponses = transactions.getContent().stream()
-                .map(this::mapToTransactionResponse)
-                .collect(Collectors.toList());
+        List<TransactionResponse> transactionResponses = mapToTransactionResponses(transactions.getContent(), includeReceipt);
         
         return PageResponse.<TransactionResponse>builder()
                 .content(transactionResponses)
@@ -198,57 +241,91 @@ public class TransactionService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TransactionResponse> getTransactionsByCursor(String cursor, int size, boolean includeReceipt) {
+        UUID userId = getCurrentUserId();
+        size = pageSize(size);
+        
+        List<TransactionListProjection> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstKeysetPage(userId, Limit.of(size + 1));
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findKeysetPageAfter(
+                    userId, position.getTransactionDate(), position.getId(), Limit.of(size + 1));
+        }
+        
+        return toCursorPage(transactions, size, includeReceipt);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TransactionResponse> getTransactionsByDateRangeCursor(
+            LocalDate startDate, LocalDate endDate, String cursor, int size, boolean includeReceipt) {
+        UUID userId = getCurrentUserId();
+        
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.atTime(LocalTime.MAX);
+        size = pageSize(size);
+        
+        List<TransactionListProjection> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstKeysetPageBetween(userId, start, end, Limit.of(size + 1));
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findKeysetPageBetweenAfter(
+                    userId, start, end, position.getTransactionDate(), position.getId(), Limit.of(size + 1));
+        }
+        
+        return toCursorPage(transactions, size, includeReceipt);
+    }
+
     @CircuitBreaker(name = "transactionSummary", fallbackMethod = "getTransactionSummaryFallback")
     @Transactional(readOnly = true)
     public TransactionSummaryResponse getTransactionSummary(LocalDate startDate, LocalDate endDate) {
         UUID userId = getCurrentUserId();
         
+        TransactionSummaryResponse cached = summaryCache.getFresh(userId, startDate, endDate);
+        if (cached != null) {
+            return cached;
+        }
+        long cacheVersion = summaryCache.currentVersion(userId);
+        
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.atTime(LocalTime.MAX);
         
-        List<Transaction> transactions = transactionRepository
-                .findByUserIdAndTransactionDateBetweenOrderByTransactionDateDesc(userId, start, end);
-        
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpense = BigDecimal.ZERO;
-        Map<String, BigDecimal> expenseByCategory = new HashMap<>();
-        Map<String, BigDecimal> incomeByCategory = new HashMap<>();
-        
-        for (Transaction transaction : transactions) {
-            String categoryName = transaction.getCategory().getName();
-            String categoryType = transaction.getCategory().getType();
-            BigDecimal amount = transaction.getAmount();
-            
-            if ("income".equals(categoryType)) {
-                totalIncome = totalIncome.add(amount);
-                incomeByCategory.merge(categoryName, amount, BigDecimal::add);
-            } else if ("expense".equals(categoryType)) {
-                totalExpense = totalExpense.add(amount);
-                expenseByCategory.merge(categoryName, amount, BigDecimal::add);
-            }
-        }
+        List<CategoryTotalProjection> categoryTotals = rollupService.getCategoryTotals(userId, startDate, endDate);
         
-        BigDecimal balance = totalIncome.subtract(totalExpense);
+        CategoryTotals totals = new CategoryTotals(categoryRegistry.capacity());
+        for (CategoryTotalProjection categoryTotal : categoryTotals) {
+            totals.add(categoryTotal.getCategoryId(), categoryTotal.getTotalMinorUnits(), categoryRegistry::find);
+        }
         
-        List<TransactionResponse> recentTransactions = transactions.stream()
-                .limit(5)
-                .map(this::mapToTransactionResponse)
-                .collect(Collectors.toList());
+        // Only the recent items need raw rows; totals come from the daily rollups
+        List<TransactionResponse> recentTransactions = mapToTransactionResponses(
+                transactionRepository.findRecentByUserIdAndDateBetween(userId, start, end, Limit.of(5)), false);
         
-        return TransactionSummaryResponse.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .balance(balance)
-                .expenseByCategory(expenseByCategory)
-                .incomeByCategory(incomeByCategory)
+        TransactionSummaryResponse summary = TransactionSummaryResponse.builder()
+                .totalIncome(Money.toBigDecimal(totals.getTotalIncome()))
+                .totalExpense(Money.toBigDecimal(totals.getTotalExpense()))
+                .balance(Money.toBigDecimal(Math.subtractExact(totals.getTotalIncome(), totals.getTotalExpense())))
+                .expenseByCategory(totals.byCategoryName("expense", categoryRegistry::find))
+                .incomeByCategory(totals.byCategoryName("income", categoryRegistry::find))
                 .recentTransactions(recentTransactions)
                 .build();
+        summaryCache.put(userId, startDate, endDate, cacheVersion, summary);
+        return summary;
     }
 
     public TransactionSummaryResponse getTransactionSummaryFallback(
             LocalDate startDate, LocalDate endDate, Throwable e) {
         log.error("Circuit breaker triggered for transaction summary: {}", e.getMessage());
         
+        // Last known summary, even if invalidated since, beats a page of zeros
+        TransactionSummaryResponse cached = summaryCache.getStale(getCurrentUserId(), startDate, endDate);
+        if (cached != null) {
+            return cached.toBuilder().stale(true).build();
+        }
+        
         return TransactionSummaryResponse.builder()
                 .totalIncome(BigDecimal.ZERO)
                 .totalExpense(BigDecimal.ZERO)
@@ -256,14 +333,20 @@ public class TransactionService {
                 .expenseByCategory(Collections.emptyMap())
                 .incomeByCategory(Collections.emptyMap())
                 .recentTransactions(Collections.emptyList())
+                .stale(true)
                 .build();
     }
 
-    @Transactional(readOnly = true)
     public List<TransactionCategoryDto> getAllCategories() {
-        return categoryRepository.findAll().stream()
-                .map(this::mapToCategoryDto)
-                .collect(Collectors.toList());
+        return categoryRegistry.getAll();
+    }
+
+    public String getCategoriesETag() {
+        return categoryRegistry.getETag();
+    }
+
+    public void refreshCategories() {
+        categoryRegistry.refresh();
     }
 
     @Transactional
@@ -279,17 +362,87 @@ public class TransactionService {
         }
         
         transactionRepository.delete(transaction);
+        receiptRepository.deleteById(id);
+        rollupService.recordDeleted(transaction);
+        balanceLedgerService.recordDeleted(transaction);
+        outboxService.enqueue(new TransactionDeletedEvent(
+                id.toString(),
+                userId.toString(),
+                transaction.getAmount(),
+                transaction.getCategory().getId(),
+                transaction.getTransactionDate()));
+        summaryCache.invalidateAfterCommit(userId);
+        watermarks.invalidateAfterCommit(userId);
         log.info("Transaction deleted: {}", id);
     }
 
-    private TransactionResponse mapToTransactionResponse(Transaction transaction) {
+    /**
+     * Clamps a requested page size to [1, max-page-size], so one request cannot pull a user's
+     * whole history into memory and onto the wire.
+     */
+    private int pageSize(int requested) {
+        return Math.min(Math.max(requested, 1), maxPageSize);
+    }
+
+    // Repositories fetch size + 1 rows; the extra row only signals that another page exists
+    private CursorPageResponse<TransactionResponse> toCursorPage(
+            List<TransactionListProjection> transactions, int size, boolean includeReceipt) {
+        boolean last = transactions.size() <= size;
+        List<TransactionListProjection> page = last ? transactions : transactions.subList(0, size);
+        
+        String nextCursor = null;
+        if (!last) {
+            TransactionListProjection lastRow = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(lastRow.getTransactionDate(), lastRow.getId()).encode();
+        }
+        
+        List<TransactionResponse> transactionResponses = mapToTransactionResponses(page, includeReceipt);
+        
+        return CursorPageResponse.<TransactionResponse>builder()
+                .content(transactionResponses)
+                .pageSize(size)
+                .nextCursor(nextCursor)
+                .last(last)
+                .build();
+    }
+
+    // Receipt bodies are only loaded on request, with one extra statement for the whole page
+    List<TransactionResponse> mapToTransactionResponses(
+            List<TransactionListProjection> rows, boolean includeReceipt) {
+        Map<UUID, String> receiptTexts = Collections.emptyMap();
+        if (includeReceipt && !rows.isEmpty()) {
+            receiptTexts = new HashMap<>();
+            for (TransactionReceipt receipt : receiptRepository.findAllById(
+                    rows.stream().map(TransactionListProjection::getId).toList())) {
+                receiptTexts.put(receipt.getTransactionId(), receipt.getReceiptText());
+            }
+        }
+        
+        List<TransactionResponse> responses = new ArrayList<>(rows.size());
+        for (TransactionListProjection row : rows) {
+            responses.add(TransactionResponse.builder()
+                    .id(row.getId())
+                    .userId(row.getUserId())
+                    .amount(row.getAmount())
+                    .category(categoryRegistry.findDto(row.getCategoryId()))
+                    .description(row.getDescription())
+                    .receiptText(receiptTexts.get(row.getId()))
+                    .transactionDate(row.getTransactionDate())
+                    .createdAt(row.getCreatedAt())
+                    .updatedAt(row.getUpdatedAt())
+                    .build());
+        }
+        return responses;
+    }
+
+    TransactionResponse mapToTransactionResponse(Transaction transaction, String receiptText) {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .userId(transaction.getUserId())
                 .amount(transaction.getAmount())
                 .category(mapToCategoryDto(transaction.getCategory()))
                 .description(transaction.getDescription())
-                .receiptText(transaction.getReceiptText())
+                .receiptText(receiptText)
                 .transactionDate(transaction.getTransactionDate())
                 .createdAt(transaction.getCreatedAt())
                 .updatedAt(transaction.getUpdatedAt())
@@ -297,6 +450,10 @@ public class TransactionService {
     }
 
     private TransactionCategoryDto mapToCategoryDto(TransactionCategory category) {
+        TransactionCategoryDto cached = categoryRegistry.findDto(category.getId());
+        if (cached != null) {
+            return cached;
+        }
         return TransactionCategoryDto.builder()
                 .id(category.getId())
                 .name(category.getName())
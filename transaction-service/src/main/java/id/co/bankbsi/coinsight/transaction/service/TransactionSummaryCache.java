@@ -0,0 +1,126 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionSummaryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user cache of computed summaries. Invalidation bumps the user's version instead of
+ * dropping entries: a summary is only served as fresh while its version matches and it is
+ * younger than {@code fresh-ttl}, but the last computed value stays around (until
+ * {@code stale-ttl} without access) so the circuit-breaker fallback has something to return.
+ *
+ * <p>Writes on other nodes reach this cache through {@link TransactionCacheInvalidator}.
+ */
+@Component
+public class TransactionSummaryCache {
+
+    private final Cache<UUID, UserSummaries> cache;
+    private final long freshTtlNanos;
+    private final int maxRangesPerUser;
+
+    public TransactionSummaryCache(
+            @Value("${transaction.summary-cache.max-users:10000}") long maxUsers,
+            @Value("${transaction.summary-cache.max-ranges-per-user:16}") int maxRangesPerUser,
+            @Value("${transaction.summary-cache.fresh-ttl:5m}") Duration freshTtl,
+            @Value("${transaction.summary-cache.stale-ttl:1h}") Duration staleTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(staleTtl)
+                .build();
+        this.freshTtlNanos = freshTtl.toNanos();
+        this.maxRangesPerUser = maxRangesPerUser;
+    }
+
+    /**
+     * Version to pass to {@link #put}; read it before computing so a write that lands while the
+     * summary is being computed leaves the stored value stale rather than fresh.
+     */
+    public long currentVersion(UUID userId) {
+        return cache.get(userId, id -> new UserSummaries(0)).version.get();
+    }
+
+    public TransactionSummaryResponse getFresh(UUID userId, LocalDate startDate, LocalDate endDate) {
+        UserSummaries summaries = cache.getIfPresent(userId);
+        if (summaries == null) {
+            return null;
+        }
+        Entry entry = summaries.entries.get(new DateRange(startDate, endDate));
+        if (entry == null
+                || entry.version != summaries.version.get()
+                || System.nanoTime() - entry.computedAt > freshTtlNanos) {
+            return null;
+        }
+        return entry.summary;
+    }
+
+    public TransactionSummaryResponse getStale(UUID userId, LocalDate startDate, LocalDate endDate) {
+        UserSummaries summaries = cache.getIfPresent(userId);
+        if (summaries == null) {
+            return null;
+        }
+        Entry entry = summaries.entries.get(new DateRange(startDate, endDate));
+        return entry != null ? entry.summary : null;
+    }
+
+    public void put(UUID userId, LocalDate startDate, LocalDate endDate, long version, TransactionSummaryResponse summary) {
+        UserSummaries summaries = cache.get(userId, id -> new UserSummaries(version));
+        DateRange range = new DateRange(startDate, endDate);
+        if (summaries.entries.size() >= maxRangesPerUser && !summaries.entries.containsKey(range)) {
+            // Dashboards only ever ask for a handful of ranges; anything beyond that is not worth keeping
+            summaries.entries.clear();
+        }
+        summaries.entries.put(range, new Entry(summary, version, System.nanoTime()));
+    }
+
+    public void invalidate(UUID userId) {
+        UserSummaries summaries = cache.getIfPresent(userId);
+        if (summaries != null) {
+            summaries.version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Invalidates locally once the surrounding transaction commits, so the writing node does not
+     * serve its own stale summary while the event is still on its way through the outbox.
+     */
+    public void invalidateAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId);
+            }
+        });
+    }
+
+    private record DateRange(LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record Entry(TransactionSummaryResponse summary, long version, long computedAt) {
+    }
+
+    private static final class UserSummaries {
+
+        private final AtomicLong version;
+        private final Map<DateRange, Entry> entries = new ConcurrentHashMap<>();
+
+        UserSummaries(long version) {
+            this.version = new AtomicLong(version);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.dto.TrendResponse;
+import id.co.bankbsi.coinsight.transaction.dto.TrendSeries;
+import id.co.bankbsi.coinsight.transaction.exception.InvalidTrendRequestException;
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Income/expense per category bucketed by day, week or month. Bucketing is done by Postgres
+ * ({@code date_trunc} + GROUP BY) over the daily rollups, so the service reads at most one row per
+ * (bucket, category) no matter how many transactions fall in the range.
+ */
+@Service
+public class TransactionTrendService {
+
+    private static final String TREND_QUERY =
+            "SELECT CAST(date_trunc(?, rollup_date) AS date) AS bucket, category_id, " +
+            "CAST(SUM(total_amount) * 100 AS BIGINT) AS total_minor_units " +
+            "FROM transaction_daily_rollups " +
+            "WHERE user_id = ? AND rollup_date BETWEEN ? AND ? " +
+            "GROUP BY 1, 2";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRegistry categoryRegistry;
+    private final int maxBuckets;
+
+    public TransactionTrendService(
+            JdbcTemplate jdbcTemplate,
+            CategoryRegistry categoryRegistry,
+            @Value("${transaction.trends.max-buckets:400}") int maxBuckets) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRegistry = categoryRegistry;
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Transactional(readOnly = true)
+    public TrendResponse getTrends(UUID userId, LocalDate startDate, LocalDate endDate, TrendGranularity granularity) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidTrendRequestException("endDate must not be before startDate");
+        }
+        LocalDate firstBucket = granularity.truncate(startDate);
+        int bucketCount = granularity.indexOf(firstBucket, granularity.truncate(endDate)) + 1;
+        if (bucketCount > maxBuckets) {
+            throw new InvalidTrendRequestException("Range spans " + bucketCount + " " + granularity.getSqlUnit()
+                    + " buckets; at most " + maxBuckets + " are allowed");
+        }
+
+        // values[categoryId][bucket] in minor units; null rows are categories with no data in range
+        long[][] values = new long[categoryRegistry.capacity()][];
+        jdbcTemplate.query(TREND_QUERY, rs -> {
+            int categoryId = rs.getInt("category_id");
+            if (categoryId < 0 || categoryId >= values.length) {
+                return;
+            }
+            if (values[categoryId] == null) {
+                values[categoryId] = new long[bucketCount];
+            }
+            int bucket = granularity.indexOf(firstBucket, rs.getDate("bucket").toLocalDate());
+            values[categoryId][bucket] += rs.getLong("total_minor_units");
+        }, granularity.getSqlUnit(), userId, Date.valueOf(startDate), Date.valueOf(endDate));
+
+        long[] income = new long[bucketCount];
+        long[] expense = new long[bucketCount];
+        List<TrendSeries> series = new ArrayList<>();
+        for (int categoryId = 0; categoryId < values.length; categoryId++) {
+            TransactionCategory category = categoryRegistry.find(categoryId);
+            if (values[categoryId] == null || category == null) {
+                continue;
+            }
+            long[] totals = "income".equals(category.getType()) ? income
+                    : "expense".equals(category.getType()) ? expense
+                    : null;
+            if (totals != null) {
+                for (int i = 0; i < bucketCount; i++) {
+                    totals[i] += values[categoryId][i];
+                }
+            }
+            series.add(TrendSeries.builder()
+                    .categoryId(categoryId)
+                    .category(category.getName())
+                    .type(category.getType())
+                    .values(toAmounts(values[categoryId]))
+                    .build());
+        }
+
+        List<LocalDate> buckets = new ArrayList<>(bucketCount);
+        for (LocalDate bucket = firstBucket; buckets.size() < bucketCount; bucket = granularity.next(bucket)) {
+            buckets.add(bucket);
+        }
+
+        return TrendResponse.builder()
+                .granularity(granularity.getSqlUnit())
+                .startDate(startDate)
+                .endDate(endDate)
+                .buckets(buckets)
+                .income(toAmounts(income))
+                .expense(toAmounts(expense))
+                .series(series)
+                .build();
+    }
+
+    private static List<BigDecimal> toAmounts(long[] minorUnits) {
+        List<BigDecimal> amounts = new ArrayList<>(minorUnits.length);
+        for (long value : minorUnits) {
+            amounts.add(Money.toBigDecimal(value));
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,93 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user change watermark for conditional GETs. The watermark is the user's ledger version,
+ * which every create and delete bumps in its own transaction, so all nodes derive the same ETag
+ * for the same data. It is cached here and only re-read from user_balances after the user's
+ * data changes, which lets an unchanged poll be answered with 304 without touching Postgres.
+ *
+ * <p>Writes on other nodes reach this cache through {@link TransactionCacheInvalidator}; until
+ * the event arrives a node may keep answering 304, bounded by {@code ttl}.
+ */
+@Component
+public class TransactionWatermarks {
+
+    // Run outside any transaction: read-only transactions may be routed to a lagging replica
+    private static final String WATERMARK_QUERY = "SELECT version, updated_at FROM user_balances WHERE user_id = ?";
+
+    private static final Watermark NONE = new Watermark(0, -1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Watermark> cache;
+
+    public TransactionWatermarks(
+            JdbcTemplate jdbcTemplate,
+            @Value("${transaction.watermarks.max-users:100000}") long maxUsers,
+            @Value("${transaction.watermarks.ttl:5m}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Watermark current(UUID userId) {
+        return cache.get(userId, this::load);
+    }
+
+    public void invalidate(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Invalidates locally once the surrounding transaction commits, so the writing node never
+     * answers its own client's next poll with 304.
+     */
+    public void invalidateAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId);
+            }
+        });
+    }
+
+    private Watermark load(UUID userId) {
+        List<Watermark> rows = jdbcTemplate.query(WATERMARK_QUERY, (rs, rowNum) -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            return new Watermark(rs.getLong("version"), updatedAt != null ? updatedAt.getTime() : -1);
+        }, userId);
+        return rows.isEmpty() ? NONE : rows.get(0);
+    }
+
+    /**
+     * @param lastModified epoch millis of the last change, or -1 for a user who never had a transaction
+     */
+    public record Watermark(long version, long lastModified) {
+
+        /**
+         * Weak, because response compression changes the bytes but not the meaning. The user id is
+         * part of the tag so a device that switches accounts never matches the previous user's.
+         */
+        public String etag(UUID userId, String variant) {
+            return "W/\"" + userId + "-" + version + (variant != null ? "-" + variant : "") + "\"";
+        }
+    }
+}
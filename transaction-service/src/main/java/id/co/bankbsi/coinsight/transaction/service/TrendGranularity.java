@@ -0,0 +1,55 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.exception.InvalidTrendRequestException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+public enum TrendGranularity {
+    DAY("day", ChronoUnit.DAYS),
+    // Postgres date_trunc('week') starts weeks on Monday (ISO)
+    WEEK("week", ChronoUnit.WEEKS),
+    MONTH("month", ChronoUnit.MONTHS);
+
+    private final String sqlUnit;
+    private final ChronoUnit unit;
+
+    TrendGranularity(String sqlUnit, ChronoUnit unit) {
+        this.sqlUnit = sqlUnit;
+        this.unit = unit;
+    }
+
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucket) {
+        return bucket.plus(1, unit);
+    }
+
+    /**
+     * Position of {@code bucket} counted from {@code firstBucket}; both must already be truncated.
+     */
+    public int indexOf(LocalDate firstBucket, LocalDate bucket) {
+        return (int) unit.between(firstBucket, bucket);
+    }
+
+    public static TrendGranularity from(String value) {
+        for (TrendGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new InvalidTrendRequestException("Unsupported trend granularity: " + value);
+    }
+}
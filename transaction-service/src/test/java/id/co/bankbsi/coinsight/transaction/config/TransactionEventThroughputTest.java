@@ -0,0 +1,124 @@
+package id.co.bankbsi.coinsight.transaction.config;
+
+import id.co.bankbsi.coinsight.events.TransactionCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishes keyed transaction events through {@link KafkaConfig}'s producer to an embedded broker
+ * and consumes them with its listener container factory, reporting end-to-end throughput and
+ * checking that every user's events arrive exactly once and in the order they were sent.
+ */
+@SpringJUnitConfig(KafkaConfig.class)
+@EmbeddedKafka(count = 1)
+@TestPropertySource(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=throughput-test",
+        "transaction.kafka.topic.partitions=12",
+        "transaction.kafka.listener.concurrency=3"
+})
+@Slf4j
+class TransactionEventThroughputTest {
+
+    private static final int USERS = 200;
+    private static final int EVENTS_PER_USER = 100;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory;
+
+    @Autowired
+    private NewTopic transactionTopic;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    void keyedEventsKeepPerUserOrderAcrossConcurrentConsumers() throws Exception {
+        broker.addTopics(transactionTopic);
+        int total = USERS * EVENTS_PER_USER;
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        Map<String, String> partitionOwners = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(total);
+
+        ConcurrentMessageListenerContainer<String, Object> container =
+                kafkaListenerContainerFactory.createContainer(transactionTopic.name());
+        container.getContainerProperties().setMessageListener((MessageListener<String, Object>) record -> {
+            TransactionCreatedEvent event = (TransactionCreatedEvent) record.value();
+            partitionOwners.merge(record.key(), partitionOf(record), (previous, current) -> previous.equals(current) ? previous : "split");
+            received.computeIfAbsent(record.key(), key -> new ArrayList<>())
+                    .add(Integer.parseInt(event.getDescription()));
+            done.countDown();
+        });
+        container.start();
+        try {
+            ContainerTestUtils.waitForAssignment(container, transactionTopic.numPartitions());
+
+            List<String> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                users.add(UUID.randomUUID().toString());
+            }
+            long start = System.nanoTime();
+            for (int sequence = 0; sequence < EVENTS_PER_USER; sequence++) {
+                for (String userId : users) {
+                    kafkaTemplate.send(transactionTopic.name(), userId, event(userId, sequence));
+                }
+            }
+            kafkaTemplate.flush();
+            assertThat(done.await(60, TimeUnit.SECONDS)).as("all events consumed").isTrue();
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Published and consumed {} events over {} partitions with {} consumers in {} ms ({} events/s)",
+                    total, transactionTopic.numPartitions(), container.getConcurrency(), millis, total * 1000L / millis);
+        } finally {
+            container.stop();
+        }
+
+        assertThat(received).hasSize(USERS);
+        assertThat(partitionOwners.values()).doesNotContain("split");
+        for (List<Integer> sequences : received.values()) {
+            assertThat(sequences).hasSize(EVENTS_PER_USER).isSorted().doesNotHaveDuplicates();
+        }
+    }
+
+    private static String partitionOf(ConsumerRecord<String, Object> record) {
+        return record.topic() + "-" + record.partition();
+    }
+
+    private static TransactionCreatedEvent event(String userId, int sequence) {
+        return new TransactionCreatedEvent(
+                UUID.randomUUID().toString(),
+                userId,
+                new BigDecimal("125000.00"),
+                1,
+                "Food",
+                "expense",
+                Integer.toString(sequence),
+                LocalDateTime.of(2025, 1, 15, 12, 0));
+    }
+}
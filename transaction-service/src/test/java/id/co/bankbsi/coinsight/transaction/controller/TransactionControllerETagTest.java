@@ -0,0 +1,111 @@
+package id.co.bankbsi.coinsight.transaction.controller;
+
+import id.co.bankbsi.coinsight.transaction.model.TransactionCategory;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionCategoryRepository;
+import id.co.bankbsi.coinsight.transaction.service.BalanceLedgerService;
+import id.co.bankbsi.coinsight.transaction.service.BalanceReconciliationService;
+import id.co.bankbsi.coinsight.transaction.service.CategoryRegistry;
+import id.co.bankbsi.coinsight.transaction.service.IdempotencyService;
+import id.co.bankbsi.coinsight.transaction.service.SpendingAnalyticsService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionBatchService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionExportService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionGroupCommitter;
+import id.co.bankbsi.coinsight.transaction.service.TransactionSearchService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionTrendService;
+import id.co.bankbsi.coinsight.transaction.service.TransactionWatermarks;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * List responses carry category names from {@link CategoryRegistry}, so their ETag has to change
+ * when the registry reloads a renamed category, even though the user's own data did not change.
+ */
+class TransactionControllerETagTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    private CategoryRegistry categoryRegistry;
+    private TransactionController controller;
+
+    @BeforeEach
+    void setUp() {
+        TransactionCategoryRepository categoryRepository = mock(TransactionCategoryRepository.class);
+        when(categoryRepository.findAll()).thenReturn(
+                List.of(new TransactionCategory(1, "food", "expense")),
+                List.of(new TransactionCategory(1, "groceries", "expense")));
+        // Only used to evict the category cache regions on each load
+        SessionFactory sessionFactory = mock(SessionFactory.class, RETURNS_DEEP_STUBS);
+        when(sessionFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        categoryRegistry = new CategoryRegistry(categoryRepository, sessionFactory);
+        categoryRegistry.refresh();
+
+        TransactionService transactionService = mock(TransactionService.class);
+        when(transactionService.getCurrentUserId()).thenReturn(userId);
+        when(transactionService.getCategoriesETag()).thenAnswer(invocation -> categoryRegistry.getETag());
+        TransactionWatermarks watermarks = mock(TransactionWatermarks.class);
+        when(watermarks.current(userId)).thenReturn(new TransactionWatermarks.Watermark(3, 1_750_000_000_000L));
+
+        controller = new TransactionController(
+                transactionService,
+                mock(TransactionBatchService.class),
+                mock(TransactionExportService.class),
+                mock(TransactionTrendService.class),
+                mock(TransactionSearchService.class),
+                mock(IdempotencyService.class),
+                mock(BalanceLedgerService.class),
+                mock(BalanceReconciliationService.class),
+                mock(SpendingAnalyticsService.class),
+                watermarks,
+                mock(TransactionGroupCommitter.class));
+    }
+
+    @Test
+    void offsetListETagChangesWhenCategoriesReload() {
+        assertETagChangesOnReload(request -> controller.getAllTransactions(0, 10, false, request));
+    }
+
+    @Test
+    void cursorListETagChangesWhenCategoriesReload() {
+        assertETagChangesOnReload(request -> controller.getTransactionsByCursor(null, 10, false, request));
+    }
+
+    private void assertETagChangesOnReload(Function<ServletWebRequest, ?> endpoint) {
+        MockHttpServletResponse first = get(endpoint, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        assertThat(get(endpoint, etag).getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+
+        categoryRegistry.reload();
+
+        MockHttpServletResponse afterReload = get(endpoint, etag);
+        assertThat(afterReload.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(afterReload.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    private static MockHttpServletResponse get(Function<ServletWebRequest, ?> endpoint, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        endpoint.apply(new ServletWebRequest(request, response));
+        return response;
+    }
+}
@@ -0,0 +1,87 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the parsed total and confidence for every receipt in the sample corpus, which the
+ * scanner benchmark also runs over. Add a receipt there when the scanner gets a new rule.
+ */
+class ReceiptAmountScannerTest {
+
+    // Tests run from the module directory, like the schema in TransactionListQueryCountTest
+    private static final Path CORPUS = Path.of("..", "benchmarks", "src", "main", "resources", "receipts", "corpus.txt");
+
+    @ParameterizedTest(name = "receipt #{0}: {1} at {2}")
+    @MethodSource("corpus")
+    void scansCorpusReceipt(int number, BigDecimal amount, double confidence, String text) {
+        ReceiptAmountScanner.Result result = ReceiptAmountScanner.scan(text);
+
+        assertThat(result.amount()).isEqualByComparingTo(amount);
+        assertThat(result.confidence()).isCloseTo(confidence, within(0.001));
+    }
+
+    @Test
+    void readsIndonesianGroupingAndDecimals() {
+        ReceiptAmountScanner.Result result = ReceiptAmountScanner.scan("TOTAL BAYAR Rp 1.250.000,00");
+
+        assertThat(result.amount()).isEqualByComparingTo("1250000.00");
+        assertThat(result.confidence()).isCloseTo(1.0, within(0.001));
+    }
+
+    @Test
+    void prefersGrandTotalOverLaterSubtotal() {
+        ReceiptAmountScanner.Result result = ReceiptAmountScanner.scan("Grand Total 48.000\nSubtotal 52.000");
+
+        assertThat(result.amount()).isEqualByComparingTo("48000.00");
+        assertThat(result.confidence()).isCloseTo(0.95, within(0.001));
+    }
+
+    @Test
+    void reportsNothingForEmptyText() {
+        assertThat(ReceiptAmountScanner.scan(null).found()).isFalse();
+        assertThat(ReceiptAmountScanner.scan("").found()).isFalse();
+    }
+
+    static Stream<Arguments> corpus() throws IOException {
+        List<Arguments> receipts = new ArrayList<>();
+        String[] header = null;
+        StringBuilder text = null;
+        for (String line : Files.readAllLines(CORPUS)) {
+            if (line.startsWith("#") && text == null) {
+                continue;
+            }
+            if (line.startsWith("=== ")) {
+                if (text != null) {
+                    receipts.add(receipt(receipts.size() + 1, header, text));
+                }
+                header = line.substring(4).trim().split(" ");
+                text = new StringBuilder();
+            } else if (text != null) {
+                text.append(line).append('\n');
+            }
+        }
+        if (text != null) {
+            receipts.add(receipt(receipts.size() + 1, header, text));
+        }
+        assertThat(receipts).isNotEmpty();
+        return receipts.stream();
+    }
+
+    private static Arguments receipt(int number, String[] header, StringBuilder text) {
+        return Arguments.of(number, new BigDecimal(header[0]), Double.parseDouble(header[1]), text.toString());
+    }
+}
@@ -0,0 +1,216 @@
+package id.co.bankbsi.coinsight.transaction.service;
+
+import id.co.bankbsi.coinsight.transaction.config.HibernateCacheConfig;
+import id.co.bankbsi.coinsight.transaction.dto.CursorPageResponse;
+import id.co.bankbsi.coinsight.transaction.dto.PageResponse;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionResponse;
+import id.co.bankbsi.coinsight.transaction.dto.TransactionSummaryResponse;
+import id.co.bankbsi.coinsight.transaction.model.TransactionReceipt;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionCategoryRepository;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionDailyRollupRepository;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionReceiptRepository;
+import id.co.bankbsi.coinsight.transaction.repository.TransactionRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the list and summary reads against Postgres with the production schema and counts the
+ * JDBC statements each one prepares. A regression to entity loading (a category or receipt select
+ * per row) shows up as a count that grows with the page size.
+ */
+@DataJpaTest
+@DisabledIfSystemProperty(named = "user.name", matches = "root", disabledReason = "initdb refuses to run as root")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.vault.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TransactionListQueryCountTest {
+
+    private static final Path SCHEMA = Path.of("..", "k8s", "db-init-configmap.yaml");
+    private static final int ROWS = 30;
+    private static final int PAGE_SIZE = 20;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionReceiptRepository receiptRepository;
+
+    @Autowired
+    private TransactionCategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionService transactionService;
+    private Statistics statistics;
+    private UUID userId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(initSql());
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        CategoryRegistry categoryRegistry = new CategoryRegistry(categoryRepository, entityManagerFactory);
+        categoryRegistry.refresh();
+        TransactionSummaryCache summaryCache = new TransactionSummaryCache(100, 4, Duration.ofMinutes(5), Duration.ofHours(1));
+        transactionService = new TransactionService(
+                transactionRepository, receiptRepository, categoryRegistry,
+                new TransactionRollupService(rollupRepository), null, null, summaryCache, null, 100);
+
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, full_name) VALUES (?, ?, ?)",
+                userId, userId + "@example.com", "Query Count");
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = UUID.randomUUID();
+            LocalDateTime date = start.plusHours(i * 7L);
+            // Alternate categories so a per-row category lookup would have something to fetch
+            jdbcTemplate.update("INSERT INTO transactions (id, user_id, amount, category_id, description, transaction_date) " +
+                            "VALUES (?, ?, ?, ?, ?, ?)",
+                    id, userId, 10_000 + i, 1 + i % 4, "Row " + i, date);
+            receiptRepository.save(TransactionReceipt.builder().transactionId(id).userId(userId).receiptText("receipt " + i).build());
+        }
+        entityManager.flush();
+        new TransactionRollupService(rollupRepository).rebuildAll();
+
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(
+                Jwt.withTokenValue("token").header("alg", "none").subject(userId.toString()).build()));
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pagedListRunsPageAndCountQueries() {
+        PageResponse<TransactionResponse> page = transactionService.getAllTransactions(0, PAGE_SIZE, false);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(row -> assertThat(row.getCategory()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void pagedListWithReceiptsAddsOneQuery() {
+        PageResponse<TransactionResponse> page = transactionService.getAllTransactions(0, PAGE_SIZE, true);
+
+        assertThat(page.getContent()).allSatisfy(row -> assertThat(row.getReceiptText()).startsWith("receipt "));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void dateRangeListRunsPageAndCountQueries() {
+        PageResponse<TransactionResponse> page = transactionService.getTransactionsByDateRange(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), 0, PAGE_SIZE, false);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cursorPagesRunOneQueryEach() {
+        CursorPageResponse<TransactionResponse> first = transactionService.getTransactionsByCursor(null, PAGE_SIZE, false);
+        assertThat(first.getContent()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        CursorPageResponse<TransactionResponse> second = transactionService.getTransactionsByCursor(
+                first.getNextCursor(), PAGE_SIZE, false);
+        assertThat(second.getContent()).hasSize(ROWS - PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dateRangeCursorPageRunsOneQuery() {
+        CursorPageResponse<TransactionResponse> page = transactionService.getTransactionsByDateRangeCursor(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), null, PAGE_SIZE, false);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void summaryRunsRollupAndRecentQueries() {
+        TransactionSummaryResponse summary = transactionService.getTransactionSummary(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        assertThat(summary.getRecentTransactions()).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private static String initSql() throws IOException {
+        // The ConfigMap holds the schema as an indented block scalar under init.sql
+        List<String> lines = Files.readAllLines(SCHEMA);
+        int start = lines.indexOf("  init.sql: |") + 1;
+        return lines.subList(start, lines.size()).stream()
+                .map(line -> line.length() > 4 ? line.substring(4) : "")
+                .collect(Collectors.joining("\n"));
+    }
+}